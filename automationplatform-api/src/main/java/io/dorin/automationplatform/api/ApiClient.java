@@ -1,11 +1,16 @@
 package io.dorin.automationplatform.api;
 
+import io.dorin.automationplatform.api.setup.AuthTokenProvider;
+import io.dorin.automationplatform.api.stream.StreamingClient;
 import io.restassured.RestAssured;
 import io.restassured.config.HttpClientConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Opinionated API client wrapper over RestAssured.
  *
@@ -16,15 +21,40 @@ import io.restassured.specification.RequestSpecification;
  *   <li>timeouts</li>
  *   <li>JSON defaults</li>
  *   <li>automatic Allure request/response attachments</li>
+ *   <li>pluggable {@link RequestCustomizer}s (e.g. cached auth tokens)</li>
  * </ul>
  * </p>
+ *
+ * <p>
+ * For chunked, NDJSON or SSE endpoints that should be consumed incrementally, use {@link #streaming()}.
+ * </p>
  */
 public final class ApiClient {
 
     private final ApiConfig config;
+    private final List<RequestCustomizer> customizers;
+    private final StreamingHolder streaming;
+    private volatile StreamingClient customizedStreaming;
 
     public ApiClient(ApiConfig config) {
+        this(config, List.of());
+    }
+
+    /**
+     * Creates a client that applies the given customizers, in order, to every request.
+     */
+    public ApiClient(ApiConfig config, RequestCustomizer... customizers) {
+        this(config, List.of(customizers));
+    }
+
+    private ApiClient(ApiConfig config, List<RequestCustomizer> customizers) {
+        this(config, customizers, new StreamingHolder(config));
+    }
+
+    private ApiClient(ApiConfig config, List<RequestCustomizer> customizers, StreamingHolder streaming) {
         this.config = config;
+        this.customizers = List.copyOf(customizers);
+        this.streaming = streaming;
     }
 
     /**
@@ -34,6 +64,20 @@ public final class ApiClient {
         return new ApiClient(ApiConfig.fromSystem());
     }
 
+    /**
+     * Returns a copy of this client that additionally applies {@code customizer}.
+     */
+    public ApiClient with(RequestCustomizer customizer) {
+        List<RequestCustomizer> all = new ArrayList<>(customizers);
+        all.add(customizer);
+        return new ApiClient(config, all, streaming);
+    }
+
+    /** Configuration used by this client. */
+    public ApiConfig config() {
+        return config;
+    }
+
     /**
      * Creates a fully configured {@link RequestSpecification}
      * ready for execution.
@@ -45,11 +89,72 @@ public final class ApiClient {
                         .setParam("http.socket.timeout", (int) config.readTimeout().toMillis())
                 );
 
-        return RestAssured.given()
+        RequestSpecification spec = RestAssured.given()
                 .config(raConfig)
                 .baseUri(config.baseUrl())
                 .contentType(ContentType.JSON)
                 .accept(ContentType.JSON)
                 .filter(new ApiAllureFilter());
+
+        for (RequestCustomizer customizer : customizers) {
+            spec = customizer.customize(spec);
+        }
+        return spec;
+    }
+
+    /**
+     * Client for incrementally consumed responses (chunked, NDJSON, SSE), sharing this
+     * client's {@link ApiConfig}.
+     * <p>
+     * {@link AuthTokenProvider} customizers are carried over as an {@code Authorization} header
+     * resolved per request. Other customizers work on RestAssured specifications only and cannot
+     * be applied, so they are rejected rather than silently dropped; pass their headers with
+     * {@link StreamingClient#header} on {@code streaming()} of a client without them.
+     * </p>
+     * <p>
+     * The underlying HTTP client is created on first use and shared with copies made by
+     * {@link #with(RequestCustomizer)}, so all streaming requests share one connection pool.
+     * </p>
+     *
+     * @throws IllegalStateException if this client has a customizer other than {@link AuthTokenProvider}
+     */
+    public StreamingClient streaming() {
+        StreamingClient client = customizedStreaming;
+        if (client == null) {
+            client = streaming.get();
+            for (RequestCustomizer customizer : customizers) {
+                if (!(customizer instanceof AuthTokenProvider auth)) {
+                    throw new IllegalStateException("RequestCustomizer " + customizer.getClass().getName()
+                            + " cannot be applied to streaming requests; use streaming() of a client without it"
+                            + " and add its headers with StreamingClient.header(...)");
+                }
+                client = client.header("Authorization", auth::authorization);
+            }
+            customizedStreaming = client;
+        }
+        return client;
+    }
+
+    // ---------- internal helpers ----------
+
+    /**
+     * Creates the customizer-free {@link StreamingClient} lazily: its {@code HttpClient} starts a
+     * selector thread, which clients that never stream should not pay for.
+     */
+    private static final class StreamingHolder {
+
+        private final ApiConfig config;
+        private StreamingClient client;
+
+        StreamingHolder(ApiConfig config) {
+            this.config = config;
+        }
+
+        synchronized StreamingClient get() {
+            if (client == null) {
+                client = new StreamingClient(config);
+            }
+            return client;
+        }
     }
 }
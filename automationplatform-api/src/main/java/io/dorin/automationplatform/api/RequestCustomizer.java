@@ -0,0 +1,28 @@
+package io.dorin.automationplatform.api;
+
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Pluggable hook applied by {@link ApiClient#request()} to every request it builds.
+ *
+ * <p>
+ * Typical uses:
+ * <ul>
+ *   <li>adding an auth header from a cached token</li>
+ *   <li>adding tenant / correlation headers shared by a whole suite</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Customizers run after the client defaults (base URL, timeouts, JSON, Allure filter)
+ * and may override any of them.
+ * </p>
+ */
+@FunctionalInterface
+public interface RequestCustomizer {
+
+    /**
+     * Applies this customization and returns the (possibly same) specification.
+     */
+    RequestSpecification customize(RequestSpecification spec);
+}
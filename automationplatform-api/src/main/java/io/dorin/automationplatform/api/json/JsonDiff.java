@@ -0,0 +1,666 @@
+package io.dorin.automationplatform.api.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.dorin.automationplatform.core.allure.AllureAttachments;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Structural JSON comparison for golden-file regression tests.
+ *
+ * <p>
+ * Both documents are read with streaming Jackson parsers, side by side. Memory use depends
+ * on how the documents differ, not on their size:
+ * <ul>
+ *   <li>fields in the same order (the common case) are compared without buffering</li>
+ *   <li>when the keys of an object diverge (a field added, removed or moved), only the field
+ *       that has no counterpart yet is buffered, one value at a time, and comparison resumes
+ *       streaming as soon as the names line up again; of two unmatched values the smaller one
+ *       is buffered, so an added scalar before a large array costs almost nothing</li>
+ *   <li>arrays compared with {@link #ignoreArrayOrder(String...)} or {@link #ignoreAllArrayOrder()}
+ *       are the exception, see there</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * The comparison stops as soon as {@link #maxDifferences(int)} differences were found,
+ * without reading the rest of the documents.
+ * </p>
+ *
+ * <p>
+ * Example:
+ * <pre>
+ * JsonDiff.create()
+ *         .ignorePaths("$..updatedAt", "$.meta.requestId")
+ *         .ignoreArrayOrder("$.items")
+ *         .assertMatchesGolden("orders", Path.of("src/test/resources/golden/orders.json"),
+ *                 response.asInputStream());
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe; configuration methods return a new instance.
+ * </p>
+ */
+public final class JsonDiff {
+
+    /** Default number of differences after which the comparison stops. */
+    public static final int DEFAULT_MAX_DIFFERENCES = 100;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    private final List<JsonPathPattern> ignored;
+    private final List<JsonPathPattern> unordered;
+    private final boolean allArraysUnordered;
+    private final int maxDifferences;
+
+    private JsonDiff(List<JsonPathPattern> ignored, List<JsonPathPattern> unordered,
+                     boolean allArraysUnordered, int maxDifferences) {
+        this.ignored = ignored;
+        this.unordered = unordered;
+        this.allArraysUnordered = allArraysUnordered;
+        this.maxDifferences = maxDifferences;
+    }
+
+    /**
+     * Strict comparison: nothing ignored, array order significant,
+     * stops after {@link #DEFAULT_MAX_DIFFERENCES} differences.
+     */
+    public static JsonDiff create() {
+        return new JsonDiff(List.of(), List.of(), false, DEFAULT_MAX_DIFFERENCES);
+    }
+
+    /**
+     * Returns a copy that skips the given paths (and everything below them) on both sides.
+     *
+     * <p>
+     * Paths use a JSONPath subset: {@code $.a.b}, {@code $['a b']}, {@code $.items[3]},
+     * {@code $.items[*].id}, {@code $.*} and {@code $..updatedAt} (any depth).
+     * </p>
+     */
+    public JsonDiff ignorePaths(String... patterns) {
+        return new JsonDiff(append(ignored, patterns), unordered, allArraysUnordered, maxDifferences);
+    }
+
+    /**
+     * Returns a copy that compares the arrays at the given paths as multisets.
+     *
+     * <p>
+     * Memory: every element of the expected array is held in memory until an equal element
+     * is found on the actual side (elements are matched by a digest of their canonical form),
+     * so an unordered array costs up to the size of its expected side. Use it for arrays
+     * that fit in memory, not for the large payload array of a 50 MB document.
+     * </p>
+     */
+    public JsonDiff ignoreArrayOrder(String... patterns) {
+        return new JsonDiff(ignored, append(unordered, patterns), allArraysUnordered, maxDifferences);
+    }
+
+    /**
+     * Returns a copy that compares every array as a multiset.
+     *
+     * <p>
+     * Memory: same cost as {@link #ignoreArrayOrder(String...)} for every array, including
+     * the outermost one. On a large document whose payload is one big array this holds that
+     * whole array (expected side) in memory; prefer {@code ignoreArrayOrder} on the specific
+     * small arrays whose order does not matter.
+     * </p>
+     */
+    public JsonDiff ignoreAllArrayOrder() {
+        return new JsonDiff(ignored, unordered, true, maxDifferences);
+    }
+
+    /**
+     * Returns a copy that stops after {@code limit} differences.
+     */
+    public JsonDiff maxDifferences(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("maxDifferences must be >= 1: " + limit);
+        }
+        return new JsonDiff(ignored, unordered, allArraysUnordered, limit);
+    }
+
+    /**
+     * Compares two JSON documents. Both streams are read (at most) once and are not closed.
+     */
+    public JsonDiffResult compare(InputStream expected, InputStream actual) {
+        try (JsonParser e = MAPPER.createParser(expected);
+             JsonParser a = MAPPER.createParser(actual)) {
+            e.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            a.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            Comparison comparison = new Comparison();
+            try {
+                e.nextToken();
+                a.nextToken();
+                comparison.compareValue(e, a);
+            } catch (LimitReached stop) {
+                return new JsonDiffResult(comparison.differences, true);
+            }
+            return new JsonDiffResult(comparison.differences, false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot compare JSON documents", ex);
+        }
+    }
+
+    public JsonDiffResult compare(Path expected, Path actual) {
+        try (InputStream e = Files.newInputStream(expected);
+             InputStream a = Files.newInputStream(actual)) {
+            return compare(e, a);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read JSON files", ex);
+        }
+    }
+
+    public JsonDiffResult compare(String expected, String actual) {
+        return compare(utf8(expected), utf8(actual));
+    }
+
+    /**
+     * Compares {@code actual} against a golden file. On mismatch, attaches only the compact
+     * diff (never the full bodies) to Allure and throws an {@link AssertionError}.
+     */
+    public JsonDiffResult assertMatchesGolden(String name, Path golden, InputStream actual) {
+        JsonDiffResult result;
+        try (InputStream expected = Files.newInputStream(golden)) {
+            result = compare(expected, actual);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read golden file: " + golden, ex);
+        }
+
+        if (!result.isEmpty()) {
+            AllureAttachments.json(name + " - JSON diff", result.toJson());
+            throw new AssertionError(name + " does not match golden file " + golden + "\n" + result);
+        }
+        return result;
+    }
+
+    public JsonDiffResult assertMatchesGolden(String name, Path golden, String actual) {
+        return assertMatchesGolden(name, golden, utf8(actual));
+    }
+
+    // ---------- internal helpers ----------
+
+    private static List<JsonPathPattern> append(List<JsonPathPattern> current, String... patterns) {
+        List<JsonPathPattern> all = new ArrayList<>(current);
+        for (String pattern : patterns) {
+            all.add(JsonPathPattern.parse(pattern));
+        }
+        return List.copyOf(all);
+    }
+
+    private static InputStream utf8(String json) {
+        return new ByteArrayInputStream((json == null ? "null" : json).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean anyMatch(List<JsonPathPattern> patterns, List<Object> path) {
+        for (JsonPathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Thrown to abandon the comparison once the difference limit is reached. */
+    private static final class LimitReached extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        LimitReached() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * State of one comparison. Both parsers are always positioned on the first token of the
+     * value being compared and, on return, on its last token.
+     */
+    private final class Comparison {
+
+        private final List<JsonDifference> differences = new ArrayList<>();
+        private final List<Object> path = new ArrayList<>();
+
+        void compareValue(JsonParser e, JsonParser a) throws IOException {
+            if (isIgnored()) {
+                e.skipChildren();
+                a.skipChildren();
+                return;
+            }
+
+            JsonToken te = e.currentToken();
+            JsonToken ta = a.currentToken();
+
+            if (te == JsonToken.START_OBJECT && ta == JsonToken.START_OBJECT) {
+                compareObjects(e, a);
+            } else if (te == JsonToken.START_ARRAY && ta == JsonToken.START_ARRAY) {
+                if (isUnordered()) {
+                    compareUnorderedArrays(e, a);
+                } else {
+                    compareOrderedArrays(e, a);
+                }
+            } else if (!scalarsEqual(e, a)) {
+                report(JsonDifference.Kind.CHANGED, describe(e), describe(a));
+            }
+        }
+
+        /**
+         * Streams both objects field by field. While the names line up, values are compared
+         * directly; otherwise the unmatched value is buffered until its name shows up on the
+         * other side (or the object ends), so only unmatched fields are ever held in memory.
+         */
+        private void compareObjects(JsonParser e, JsonParser a) throws IOException {
+            Map<String, TokenBuffer> pendingExpected = new LinkedHashMap<>();
+            Map<String, TokenBuffer> pendingActual = new LinkedHashMap<>();
+            String ne = nextField(e);
+            String na = nextField(a);
+
+            while (ne != null || na != null) {
+                if (ne != null && skipIfIgnored(ne, e)) {
+                    ne = nextField(e);
+                    continue;
+                }
+                if (na != null && skipIfIgnored(na, a)) {
+                    na = nextField(a);
+                    continue;
+                }
+
+                if (ne != null && ne.equals(na)) {
+                    compareField(ne, e, a);
+                    ne = nextField(e);
+                    na = nextField(a);
+                } else if (ne != null && pendingActual.containsKey(ne)) {
+                    compareField(ne, e, replay(pendingActual.remove(ne)));
+                    ne = nextField(e);
+                } else if (na != null && pendingExpected.containsKey(na)) {
+                    compareField(na, replay(pendingExpected.remove(na)), a);
+                    na = nextField(a);
+                } else if (na == null) {
+                    reportField(ne, JsonDifference.Kind.REMOVED, e);
+                    ne = nextField(e);
+                } else if (ne == null) {
+                    reportField(na, JsonDifference.Kind.ADDED, a);
+                    na = nextField(a);
+                } else {
+                    // Two different names, neither seen on the other side yet: read both values
+                    // in lockstep and buffer whichever ends first. The other side keeps what it
+                    // already read as a prefix in front of its live parser.
+                    Capture ce = new Capture(e);
+                    Capture ca = new Capture(a);
+                    while (true) {
+                        if (ce.step(e)) {
+                            pendingExpected.put(ne, ce.buffer);
+                            ne = nextField(e);
+                            a = ca.resume(a);
+                            break;
+                        }
+                        if (ca.step(a)) {
+                            pendingActual.put(na, ca.buffer);
+                            na = nextField(a);
+                            e = ce.resume(e);
+                            break;
+                        }
+                    }
+                }
+            }
+
+            for (Map.Entry<String, TokenBuffer> field : pendingExpected.entrySet()) {
+                reportField(field.getKey(), JsonDifference.Kind.REMOVED, replay(field.getValue()));
+            }
+            for (Map.Entry<String, TokenBuffer> field : pendingActual.entrySet()) {
+                reportField(field.getKey(), JsonDifference.Kind.ADDED, replay(field.getValue()));
+            }
+        }
+
+        private void compareField(String name, JsonParser e, JsonParser a) throws IOException {
+            path.add(name);
+            compareValue(e, a);
+            path.remove(path.size() - 1);
+        }
+
+        private void reportField(String name, JsonDifference.Kind kind, JsonParser p) throws IOException {
+            path.add(name);
+            String value = describe(p);
+            if (kind == JsonDifference.Kind.REMOVED) {
+                report(kind, value, null);
+            } else {
+                report(kind, null, value);
+            }
+            path.remove(path.size() - 1);
+        }
+
+        private boolean skipIfIgnored(String name, JsonParser p) throws IOException {
+            path.add(name);
+            boolean skip = isIgnored();
+            path.remove(path.size() - 1);
+            if (skip) {
+                p.skipChildren();
+            }
+            return skip;
+        }
+
+        private void compareOrderedArrays(JsonParser e, JsonParser a) throws IOException {
+            e.nextToken();
+            a.nextToken();
+            int index = 0;
+            while (true) {
+                boolean eEnd = e.currentToken() == JsonToken.END_ARRAY;
+                boolean aEnd = a.currentToken() == JsonToken.END_ARRAY;
+                if (eEnd && aEnd) {
+                    return;
+                }
+
+                path.add(index);
+                if (eEnd) {
+                    String value = describe(a);
+                    if (!isIgnored()) {
+                        report(JsonDifference.Kind.ADDED, null, value);
+                    }
+                    a.nextToken();
+                } else if (aEnd) {
+                    String value = describe(e);
+                    if (!isIgnored()) {
+                        report(JsonDifference.Kind.REMOVED, value, null);
+                    }
+                    e.nextToken();
+                } else {
+                    compareValue(e, a);
+                    e.nextToken();
+                    a.nextToken();
+                }
+                path.remove(path.size() - 1);
+                index++;
+            }
+        }
+
+        /**
+         * Multiset comparison: elements are matched by a digest of their canonical form (ignored
+         * paths removed, keys sorted, numbers normalized). Expected elements are held until
+         * matched; actual elements are streamed and only unmatched ones are kept. Unmatched
+         * elements are paired in order and diffed structurally; the surplus on either side is
+         * reported as added / removed.
+         */
+        private void compareUnorderedArrays(JsonParser e, JsonParser a) throws IOException {
+            Map<ByteBuffer, Deque<Integer>> expectedByDigest = new HashMap<>();
+            Map<Integer, JsonNode> unmatchedExpected = new LinkedHashMap<>();
+            int index = 0;
+            while (e.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode element = e.readValueAsTree();
+                expectedByDigest.computeIfAbsent(digest(element, index), k -> new ArrayDeque<>()).add(index);
+                unmatchedExpected.put(index, element);
+                index++;
+            }
+
+            // Every unmatched actual element yields at least one difference, so keeping more
+            // than the difference limit is pointless.
+            Map<Integer, JsonNode> unmatchedActual = new LinkedHashMap<>();
+            boolean overflow = false;
+            index = 0;
+            while (a.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode element = a.readValueAsTree();
+                Deque<Integer> candidates = expectedByDigest.get(digest(element, index));
+                if (candidates != null && !candidates.isEmpty()) {
+                    unmatchedExpected.remove(candidates.poll());
+                } else if (unmatchedActual.size() < maxDifferences) {
+                    unmatchedActual.put(index, element);
+                } else {
+                    overflow = true;
+                }
+                index++;
+            }
+
+            List<Map.Entry<Integer, JsonNode>> removed = new ArrayList<>(unmatchedExpected.entrySet());
+            List<Map.Entry<Integer, JsonNode>> added = new ArrayList<>(unmatchedActual.entrySet());
+            int paired = Math.min(removed.size(), added.size());
+            for (int k = 0; k < paired; k++) {
+                path.add(removed.get(k).getKey());
+                compareNodes(removed.get(k).getValue(), added.get(k).getValue());
+                path.remove(path.size() - 1);
+            }
+            for (int k = paired; k < removed.size(); k++) {
+                path.add(removed.get(k).getKey());
+                report(JsonDifference.Kind.REMOVED, render(removed.get(k).getValue()), null);
+                path.remove(path.size() - 1);
+            }
+            for (int k = paired; k < added.size(); k++) {
+                path.add(added.get(k).getKey());
+                report(JsonDifference.Kind.ADDED, null, render(added.get(k).getValue()));
+                path.remove(path.size() - 1);
+            }
+            if (overflow) {
+                throw new LimitReached();
+            }
+        }
+
+        /** Compares two buffered subtrees with the same streaming logic. */
+        private void compareNodes(JsonNode expected, JsonNode actual) throws IOException {
+            try (JsonParser e = expected.traverse(MAPPER);
+                 JsonParser a = actual.traverse(MAPPER)) {
+                e.nextToken();
+                a.nextToken();
+                compareValue(e, a);
+            }
+        }
+
+        private ByteBuffer digest(JsonNode node, int index) {
+            path.add(index);
+            StringBuilder sb = new StringBuilder();
+            appendCanonical(node, sb);
+            path.remove(path.size() - 1);
+            try {
+                return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                        .digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 not available", ex);
+            }
+        }
+
+        private void appendCanonical(JsonNode node, StringBuilder sb) {
+            if (node.isObject()) {
+                Map<String, JsonNode> sorted = new TreeMap<>();
+                node.fields().forEachRemaining(f -> sorted.put(f.getKey(), f.getValue()));
+                sb.append('{');
+                for (Map.Entry<String, JsonNode> field : sorted.entrySet()) {
+                    path.add(field.getKey());
+                    if (!isIgnored()) {
+                        sb.append(quote(field.getKey())).append(':');
+                        appendCanonical(field.getValue(), sb);
+                        sb.append(',');
+                    }
+                    path.remove(path.size() - 1);
+                }
+                sb.append('}');
+            } else if (node.isArray()) {
+                List<String> elements = new ArrayList<>();
+                for (int i = 0; i < node.size(); i++) {
+                    path.add(i);
+                    if (!isIgnored()) {
+                        StringBuilder element = new StringBuilder();
+                        appendCanonical(node.get(i), element);
+                        elements.add(element.toString());
+                    }
+                    path.remove(path.size() - 1);
+                }
+                if (isUnordered()) {
+                    elements.sort(null);
+                }
+                sb.append('[').append(String.join(",", elements)).append(']');
+            } else if (node.isNumber()) {
+                sb.append(node.decimalValue().stripTrailingZeros().toPlainString());
+            } else if (node.isTextual()) {
+                sb.append(quote(node.textValue()));
+            } else {
+                sb.append(node);
+            }
+        }
+
+        private boolean isIgnored() {
+            return !ignored.isEmpty() && anyMatch(ignored, path);
+        }
+
+        private boolean isUnordered() {
+            return allArraysUnordered || (!unordered.isEmpty() && anyMatch(unordered, path));
+        }
+
+        private void report(JsonDifference.Kind kind, String expected, String actual) {
+            differences.add(new JsonDifference(JsonPathPattern.render(path), kind, expected, actual));
+            if (differences.size() >= maxDifferences) {
+                throw new LimitReached();
+            }
+        }
+    }
+
+    /**
+     * Moves to the next field of the current object and onto its value.
+     *
+     * @return the field name, or {@code null} at the end of the object
+     */
+    private static String nextField(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.FIELD_NAME) {
+            return null;
+        }
+        String name = p.currentName();
+        p.nextToken();
+        return name;
+    }
+
+    /** Parser over a buffered value, positioned on its first token. */
+    private static JsonParser replay(TokenBuffer buffer) throws IOException {
+        JsonParser p = buffer.asParser();
+        p.nextToken();
+        return p;
+    }
+
+    /**
+     * Copies one value token by token, so that two values can be read in lockstep and
+     * the smaller one buffered.
+     */
+    private static final class Capture {
+
+        final TokenBuffer buffer;
+        private int depth;
+        private int tokens;
+
+        Capture(JsonParser p) {
+            this.buffer = new TokenBuffer(p);
+            this.buffer.forceUseOfBigDecimal(true);
+        }
+
+        /**
+         * Copies the next token of the value ({@code p} starts on its first token).
+         *
+         * @return true once the whole value was copied; {@code p} is then on its last token
+         */
+        boolean step(JsonParser p) throws IOException {
+            if (tokens++ > 0) {
+                p.nextToken();
+            }
+            JsonToken t = p.currentToken();
+            buffer.copyCurrentEvent(p);
+            if (t.isStructStart()) {
+                depth++;
+            } else if (t.isStructEnd()) {
+                depth--;
+            }
+            return depth == 0;
+        }
+
+        /**
+         * Parser continuing with the partially copied value: the copied tokens first, then
+         * {@code live}. Positioned on the value's first token.
+         */
+        JsonParser resume(JsonParser live) throws IOException {
+            if (tokens == 0) {
+                return live;
+            }
+            JsonParser sequence = JsonParserSequence.createFlattened(false, buffer.asParser(), live);
+            sequence.nextToken();
+            return sequence;
+        }
+    }
+
+    private static boolean scalarsEqual(JsonParser e, JsonParser a) throws IOException {
+        JsonToken te = e.currentToken();
+        JsonToken ta = a.currentToken();
+        if (te == null || ta == null) {
+            return te == ta;
+        }
+        if (te.isNumeric() && ta.isNumeric()) {
+            return e.getText().equals(a.getText())
+                    || e.getDecimalValue().compareTo(a.getDecimalValue()) == 0;
+        }
+        if (te != ta || te.isStructStart()) {
+            return false;
+        }
+        return te != JsonToken.VALUE_STRING || e.getText().equals(a.getText());
+    }
+
+    /**
+     * Short rendering of the current value; containers are skipped, not materialized.
+     */
+    private static String describe(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == null) {
+            return "<no content>";
+        }
+        if (t == JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return "{...}";
+        }
+        if (t == JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return "[...]";
+        }
+        if (t == JsonToken.VALUE_STRING) {
+            return abbreviate(quote(p.getText()));
+        }
+        return abbreviate(p.getText());
+    }
+
+    private static String render(JsonNode node) {
+        if (node.isObject()) {
+            return "{...}";
+        }
+        if (node.isArray()) {
+            return "[...]";
+        }
+        return abbreviate(node.toString());
+    }
+
+    private static String quote(String text) {
+        try {
+            return MAPPER.writeValueAsString(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String abbreviate(String value) {
+        if (value.length() <= MAX_VALUE_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_VALUE_LENGTH) + "...(" + value.length() + " chars)";
+    }
+}
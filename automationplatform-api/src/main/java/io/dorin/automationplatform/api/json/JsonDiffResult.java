@@ -0,0 +1,70 @@
+package io.dorin.automationplatform.api.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link JsonDiff} comparison.
+ *
+ * @param differences differences found, in document order
+ * @param truncated   {@code true} if the comparison stopped at the configured difference limit,
+ *                    i.e. there may be more differences than reported
+ */
+public record JsonDiffResult(List<JsonDifference> differences, boolean truncated) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public JsonDiffResult {
+        differences = List.copyOf(differences);
+    }
+
+    /** Whether both documents matched. */
+    public boolean isEmpty() {
+        return differences.isEmpty();
+    }
+
+    /**
+     * Compact JSON report of the differences, suitable for an Allure attachment.
+     */
+    public String toJson() {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("differences", differences.size());
+        root.put("truncated", truncated);
+
+        ArrayNode items = root.putArray("items");
+        for (JsonDifference d : differences) {
+            ObjectNode item = items.addObject();
+            item.put("path", d.path());
+            item.put("kind", d.kind().name());
+            if (d.expected() != null) {
+                item.put("expected", d.expected());
+            }
+            if (d.actual() != null) {
+                item.put("actual", d.actual());
+            }
+        }
+
+        try {
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render JSON diff", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (differences.isEmpty()) {
+            return "no differences";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(differences.size()).append(truncated ? "+" : "").append(" difference(s):");
+        for (JsonDifference d : differences) {
+            sb.append("\n  ").append(d);
+        }
+        return sb.toString();
+    }
+}
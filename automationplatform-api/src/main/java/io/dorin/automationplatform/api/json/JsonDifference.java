@@ -0,0 +1,30 @@
+package io.dorin.automationplatform.api.json;
+
+/**
+ * A single structural difference found by {@link JsonDiff}.
+ *
+ * @param path     JSONPath-like location, e.g. {@code $.items[3].price}
+ * @param kind     type of difference
+ * @param expected compact rendering of the expected (golden) value, {@code null} for {@link Kind#ADDED}
+ * @param actual   compact rendering of the actual value, {@code null} for {@link Kind#REMOVED}
+ */
+public record JsonDifference(String path, Kind kind, String expected, String actual) {
+
+    public enum Kind {
+        /** Value present on both sides but different (including type changes). */
+        CHANGED,
+        /** Present only in the actual document. */
+        ADDED,
+        /** Present only in the expected document. */
+        REMOVED
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case CHANGED -> path + ": expected " + expected + " but was " + actual;
+            case ADDED -> path + ": unexpected " + actual;
+            case REMOVED -> path + ": missing " + expected;
+        };
+    }
+}
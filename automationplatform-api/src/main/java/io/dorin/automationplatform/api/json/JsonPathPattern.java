@@ -0,0 +1,152 @@
+package io.dorin.automationplatform.api.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal JSONPath-like pattern used by {@link JsonDiff} to select paths.
+ *
+ * <p>
+ * Supported syntax:
+ * <ul>
+ *   <li>{@code $.a.b} / {@code $['a b']} - object fields</li>
+ *   <li>{@code $.items[3]} - array index</li>
+ *   <li>{@code $.items[*]} - any array index, {@code $.*} - any field or index</li>
+ *   <li>{@code $..updatedAt} - field at any depth</li>
+ * </ul>
+ * </p>
+ */
+final class JsonPathPattern {
+
+    private static final Object ANY = new Object();
+    private static final Object ANY_INDEX = new Object();
+    private static final Object DESCENDANTS = new Object();
+
+    private final String source;
+    private final List<Object> segments;
+
+    private JsonPathPattern(String source, List<Object> segments) {
+        this.source = source;
+        this.segments = segments;
+    }
+
+    static JsonPathPattern parse(String pattern) {
+        if (pattern == null || !pattern.startsWith("$")) {
+            throw new IllegalArgumentException("JSON path pattern must start with '$': " + pattern);
+        }
+
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '.') {
+                i++;
+                if (i < pattern.length() && pattern.charAt(i) == '.') {
+                    segments.add(DESCENDANTS);
+                    i++;
+                }
+                int end = i;
+                while (end < pattern.length() && pattern.charAt(end) != '.' && pattern.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i) {
+                    throw new IllegalArgumentException("Empty field name in JSON path pattern: " + pattern);
+                }
+                String name = pattern.substring(i, end);
+                segments.add("*".equals(name) ? ANY : name);
+                i = end;
+            } else if (c == '[') {
+                int end = pattern.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in JSON path pattern: " + pattern);
+                }
+                String inner = pattern.substring(i + 1, end).trim();
+                if ("*".equals(inner)) {
+                    segments.add(ANY_INDEX);
+                } else if (inner.length() >= 2 && inner.startsWith("'") && inner.endsWith("'")) {
+                    segments.add(inner.substring(1, inner.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.parseInt(inner));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid index in JSON path pattern: " + pattern, e);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' in JSON path pattern: " + pattern);
+            }
+        }
+        return new JsonPathPattern(pattern, List.copyOf(segments));
+    }
+
+    /**
+     * @param path current path; {@link String} elements are field names, {@link Integer} elements array indexes
+     */
+    boolean matches(List<Object> path) {
+        return matches(0, path, 0);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Renders a path in the same syntax accepted by {@link #parse(String)}.
+     */
+    static String render(List<Object> path) {
+        StringBuilder sb = new StringBuilder("$");
+        for (Object segment : path) {
+            if (segment instanceof Integer index) {
+                sb.append('[').append(index).append(']');
+            } else {
+                String name = (String) segment;
+                if (isPlainName(name)) {
+                    sb.append('.').append(name);
+                } else {
+                    sb.append("['").append(name).append("']");
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // ---------- internal helpers ----------
+
+    private boolean matches(int si, List<Object> path, int pi) {
+        if (si == segments.size()) {
+            return pi == path.size();
+        }
+        Object segment = segments.get(si);
+        if (segment == DESCENDANTS) {
+            for (int k = pi; k < path.size(); k++) {
+                if (matches(si + 1, path, k)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (pi == path.size()) {
+            return false;
+        }
+        Object actual = path.get(pi);
+        boolean accepted = segment == ANY
+                || (segment == ANY_INDEX && actual instanceof Integer)
+                || segment.equals(actual);
+        return accepted && matches(si + 1, path, pi + 1);
+    }
+
+    private static boolean isPlainName(String name) {
+        if (name.isEmpty() || Character.isDigit(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,162 @@
+package io.dorin.automationplatform.api.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Fixed-size, mergeable latency histogram with microsecond resolution.
+ *
+ * <p>
+ * Values below 128 µs are counted exactly; above that, every power of two is split into
+ * 64 buckets, so reported percentiles are within ~1.6% of the real value. Values up to
+ * 2^41 µs (~25 days) are supported; larger values are clamped.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe: record into one histogram per thread and {@link #merge(LatencyHistogram)}
+ * them afterwards. Histograms from different JVMs are merged the same way after a
+ * {@link #toJson()} / {@link #fromJson(JsonNode)} round trip.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR_LIMIT = SUB_COUNT * 2;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BITS) * SUB_COUNT;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /** Records one latency measured with {@link System#nanoTime()}. */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    /** Records one latency in microseconds. */
+    public void recordMicros(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_VALUE));
+        counts[indexOf(value)]++;
+        total++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Adds all values recorded in {@code other} to this histogram. */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public long minMicros() {
+        return total == 0 ? 0 : min;
+    }
+
+    public long maxMicros() {
+        return max;
+    }
+
+    public double meanMicros() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * Value at the given percentile (0-100], in microseconds; 0 if nothing was recorded.
+     */
+    public long percentileMicros(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, upperBound(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Sparse JSON encoding: {@code {"total":..,"sum":..,"min":..,"max":..,"buckets":[[index,count],...]}}.
+     */
+    public ObjectNode toJson() {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("total", total);
+        node.put("sum", sum);
+        node.put("min", minMicros());
+        node.put("max", max);
+        ArrayNode buckets = node.putArray("buckets");
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                buckets.addArray().add(i).add(counts[i]);
+            }
+        }
+        return node;
+    }
+
+    public static LatencyHistogram fromJson(JsonNode node) {
+        LatencyHistogram h = new LatencyHistogram();
+        h.total = node.path("total").asLong();
+        h.sum = node.path("sum").asLong();
+        h.min = h.total == 0 ? Long.MAX_VALUE : node.path("min").asLong();
+        h.max = node.path("max").asLong();
+        for (JsonNode bucket : node.path("buckets")) {
+            int index = bucket.get(0).asInt();
+            if (index < 0 || index >= BUCKETS) {
+                throw new IllegalArgumentException("Invalid histogram bucket index: " + index);
+            }
+            h.counts[index] += bucket.get(1).asLong();
+        }
+        return h;
+    }
+
+    // ---------- internal helpers ----------
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_COUNT;
+        return LINEAR_LIMIT + (exponent - SUB_BITS - 1) * SUB_COUNT + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int group = (index - LINEAR_LIMIT) / SUB_COUNT;
+        int sub = (index - LINEAR_LIMIT) % SUB_COUNT;
+        int shift = group + 1;
+        return ((long) (sub + SUB_COUNT)) << shift;
+    }
+
+    private static long upperBound(int index) {
+        return index + 1 < BUCKETS ? lowerBound(index + 1) - 1 : MAX_VALUE;
+    }
+}
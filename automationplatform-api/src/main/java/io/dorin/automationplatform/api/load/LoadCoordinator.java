@@ -0,0 +1,243 @@
+package io.dorin.automationplatform.api.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dorin.automationplatform.api.ApiConfig;
+import io.dorin.automationplatform.core.allure.AllureAttachments;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a {@link LoadPlan} on several worker JVMs and merges their results.
+ *
+ * <p>
+ * Flow:
+ * <ol>
+ *   <li>opens a coordinator socket and starts {@link LoadPlan#workers()} workers through a {@link WorkerLauncher}</li>
+ *   <li>sends every worker the same scenario and {@link ApiConfig}, waits until all of them are ready</li>
+ *   <li>sends the start signal to all workers at once</li>
+ *   <li>collects each worker's {@link LatencyHistogram}, merges them into one {@link LoadReport}
+ *       and attaches its JSON summary to Allure</li>
+ * </ol>
+ * </p>
+ *
+ * <p>
+ * Example (all workers as child processes on this machine):
+ * <pre>
+ * LoadReport report = LoadCoordinator.local().run(
+ *         LoadPlan.of(CheckoutScenario.class, ApiConfig.fromSystem())
+ *                 .workers(4)
+ *                 .concurrency(32)
+ *                 .duration(Duration.ofMinutes(2)));
+ * </pre>
+ * </p>
+ */
+public final class LoadCoordinator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadCoordinator.class);
+
+    /** Extra time a worker gets, on top of the planned duration, to deliver its result. */
+    private static final Duration RESULT_GRACE = Duration.ofSeconds(60);
+
+    private final WorkerLauncher launcher;
+    private final String advertisedHost;
+    private final Duration connectTimeout;
+
+    /**
+     * @param launcher       starts the worker processes
+     * @param advertisedHost address workers use to reach this coordinator; when it is not a
+     *                       loopback address the coordinator listens on all interfaces
+     * @param connectTimeout how long to wait for all workers to connect and become ready
+     */
+    public LoadCoordinator(WorkerLauncher launcher, String advertisedHost, Duration connectTimeout) {
+        this.launcher = Objects.requireNonNull(launcher, "launcher");
+        this.advertisedHost = Objects.requireNonNull(advertisedHost, "advertisedHost");
+        this.connectTimeout = Objects.requireNonNull(connectTimeout, "connectTimeout");
+    }
+
+    /**
+     * Coordinator whose workers are child JVMs on this machine, talking over localhost.
+     */
+    public static LoadCoordinator local() {
+        return new LoadCoordinator(WorkerLauncher.local(), "127.0.0.1", Duration.ofSeconds(60));
+    }
+
+    /**
+     * Runs the plan and returns the merged report (also attached to Allure).
+     *
+     * @throws IllegalStateException if a worker cannot be started, fails, times out or connects
+     *                               with an id that is out of range or already taken
+     */
+    public LoadReport run(LoadPlan plan) {
+        List<Process> processes = new ArrayList<>();
+        Map<Integer, Wire> wires = new TreeMap<>();
+        boolean completed = false;
+
+        try (ServerSocket server = new ServerSocket()) {
+            InetAddress advertised = InetAddress.getByName(advertisedHost);
+            server.bind(advertised.isLoopbackAddress()
+                    ? new InetSocketAddress(advertised, 0)
+                    : new InetSocketAddress(0));
+
+            List<String> baseArgs = List.of(advertisedHost, String.valueOf(server.getLocalPort()));
+            for (int id = 1; id <= plan.workers(); id++) {
+                List<String> args = new ArrayList<>(baseArgs);
+                args.add(String.valueOf(id));
+                Process process = launcher.launch(args);
+                if (process != null) {
+                    processes.add(process);
+                }
+            }
+
+            long deadline = System.nanoTime() + connectTimeout.toNanos();
+            while (wires.size() < plan.workers()) {
+                Wire wire = accept(server, processes, deadline);
+                int id;
+                try {
+                    id = wire.receive(Wire.HELLO, remainingMillis(deadline)).path("worker").asInt();
+                    checkWorkerId(id, plan, wires);
+                } catch (IOException | RuntimeException e) {
+                    wire.close();
+                    throw e;
+                }
+                wires.put(id, wire);
+                wire.send(planMessage(plan));
+            }
+            for (Map.Entry<Integer, Wire> entry : wires.entrySet()) {
+                receive(entry, Wire.READY, remainingMillis(deadline));
+            }
+
+            LOG.info("Starting load: {} x {} virtual users of {} for {}",
+                    plan.workers(), plan.concurrency(), plan.scenario().getSimpleName(), plan.duration());
+            for (Wire wire : wires.values()) {
+                wire.send(Wire.message(Wire.START));
+            }
+
+            int resultTimeout = (int) plan.duration().plus(RESULT_GRACE).toMillis();
+            List<WorkerResult> results = new ArrayList<>();
+            for (Map.Entry<Integer, Wire> entry : wires.entrySet()) {
+                results.add(toResult(receive(entry, Wire.RESULT, resultTimeout)));
+            }
+
+            completed = true;
+            LoadReport report = new LoadReport(plan, results);
+            LOG.info("Load finished: {}", report);
+            AllureAttachments.json("Load report - " + plan.scenario().getSimpleName(), report.toJson());
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Load coordinator I/O failure", e);
+        } finally {
+            wires.values().forEach(Wire::close);
+            stop(processes, completed);
+        }
+    }
+
+    // ---------- internal helpers ----------
+
+    private static Wire accept(ServerSocket server, List<Process> processes, long deadline) throws IOException {
+        while (true) {
+            for (Process process : processes) {
+                if (!process.isAlive() && process.exitValue() != 0) {
+                    throw new IllegalStateException("Load worker exited before connecting (exit code "
+                            + process.exitValue() + ")");
+                }
+            }
+            int remaining = remainingMillis(deadline);
+            server.setSoTimeout(Math.min(remaining, 500));
+            try {
+                Socket socket = server.accept();
+                return new Wire(socket);
+            } catch (SocketTimeoutException e) {
+                if (remaining <= 500) {
+                    throw new IllegalStateException("Timed out waiting for load workers to connect");
+                }
+            }
+        }
+    }
+
+    /**
+     * Worker ids come from the worker's command line, which the coordinator does not control
+     * when workers are started by other means; a reused id would silently replace a connection.
+     */
+    private static void checkWorkerId(int id, LoadPlan plan, Map<Integer, Wire> connected) {
+        if (id < 1 || id > plan.workers()) {
+            throw new IllegalStateException("Load worker connected with id " + id
+                    + ", expected an id between 1 and " + plan.workers());
+        }
+        if (connected.containsKey(id)) {
+            throw new IllegalStateException("Two load workers connected with id " + id
+                    + "; every worker needs a distinct id between 1 and " + plan.workers());
+        }
+    }
+
+    private static JsonNode receive(Map.Entry<Integer, Wire> worker, String type, int timeoutMillis) {
+        try {
+            return worker.getValue().receive(type, timeoutMillis);
+        } catch (SocketTimeoutException e) {
+            throw new IllegalStateException("Load worker " + worker.getKey() + " timed out before '" + type + "'", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Load worker " + worker.getKey() + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static ObjectNode planMessage(LoadPlan plan) {
+        ApiConfig api = plan.apiConfig();
+        return Wire.message(Wire.PLAN)
+                .put("scenario", plan.scenario().getName())
+                .put("baseUrl", api.baseUrl())
+                .put("connectTimeoutMs", api.connectTimeout().toMillis())
+                .put("readTimeoutMs", api.readTimeout().toMillis())
+                .put("concurrency", plan.concurrency())
+                .put("durationMs", plan.duration().toMillis());
+    }
+
+    private static WorkerResult toResult(JsonNode message) {
+        JsonNode firstError = message.get("firstError");
+        return new WorkerResult(
+                message.path("worker").asInt(),
+                message.path("errors").asLong(),
+                firstError == null ? null : firstError.asText(),
+                Duration.ofMillis(message.path("elapsedMs").asLong()),
+                LatencyHistogram.fromJson(message.path("latencies"))
+        );
+    }
+
+    private static int remainingMillis(long deadlineNanos) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (remaining <= 0) {
+            throw new IllegalStateException("Timed out waiting for load workers");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, remaining);
+    }
+
+    /**
+     * Lets finished workers exit on their own; kills them right away if the run failed.
+     */
+    private static void stop(List<Process> processes, boolean completed) {
+        for (Process process : processes) {
+            try {
+                if (!completed || !process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+}
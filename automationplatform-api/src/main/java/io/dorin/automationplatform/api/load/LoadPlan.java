@@ -0,0 +1,84 @@
+package io.dorin.automationplatform.api.load;
+
+import io.dorin.automationplatform.api.ApiConfig;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * What a {@link LoadCoordinator} runs: the scenario, the API configuration shared by all
+ * workers and how much load each worker generates.
+ *
+ * <p>
+ * Defaults: 1 worker, 4 virtual users per worker, 30 seconds.
+ * Instances are immutable; configuration methods return a new instance.
+ * </p>
+ */
+public final class LoadPlan {
+
+    private final Class<? extends LoadScenario> scenario;
+    private final ApiConfig apiConfig;
+    private final int workers;
+    private final int concurrency;
+    private final Duration duration;
+
+    private LoadPlan(Class<? extends LoadScenario> scenario, ApiConfig apiConfig,
+                     int workers, int concurrency, Duration duration) {
+        this.scenario = scenario;
+        this.apiConfig = apiConfig;
+        this.workers = workers;
+        this.concurrency = concurrency;
+        this.duration = duration;
+    }
+
+    public static LoadPlan of(Class<? extends LoadScenario> scenario, ApiConfig apiConfig) {
+        return new LoadPlan(
+                Objects.requireNonNull(scenario, "scenario"),
+                Objects.requireNonNull(apiConfig, "apiConfig"),
+                1, 4, Duration.ofSeconds(30));
+    }
+
+    /** Number of worker JVMs. */
+    public LoadPlan workers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be >= 1: " + workers);
+        }
+        return new LoadPlan(scenario, apiConfig, workers, concurrency, duration);
+    }
+
+    /** Virtual users (threads looping over the scenario) per worker. */
+    public LoadPlan concurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be >= 1: " + concurrency);
+        }
+        return new LoadPlan(scenario, apiConfig, workers, concurrency, duration);
+    }
+
+    /** How long every worker generates load after the common start signal. */
+    public LoadPlan duration(Duration duration) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be > 0: " + duration);
+        }
+        return new LoadPlan(scenario, apiConfig, workers, concurrency, duration);
+    }
+
+    public Class<? extends LoadScenario> scenario() {
+        return scenario;
+    }
+
+    public ApiConfig apiConfig() {
+        return apiConfig;
+    }
+
+    public int workers() {
+        return workers;
+    }
+
+    public int concurrency() {
+        return concurrency;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+}
@@ -0,0 +1,141 @@
+package io.dorin.automationplatform.api.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Merged result of a distributed load run.
+ */
+public final class LoadReport {
+
+    private final String scenario;
+    private final int concurrency;
+    private final Duration plannedDuration;
+    private final List<WorkerResult> workers;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final long errors;
+    private final Duration elapsed;
+
+    LoadReport(LoadPlan plan, List<WorkerResult> workers) {
+        this.scenario = plan.scenario().getName();
+        this.concurrency = plan.concurrency();
+        this.plannedDuration = plan.duration();
+        this.workers = List.copyOf(workers);
+
+        long errorCount = 0;
+        Duration longest = Duration.ZERO;
+        for (WorkerResult worker : workers) {
+            latencies.merge(worker.latencies());
+            errorCount += worker.errors();
+            if (worker.elapsed().compareTo(longest) > 0) {
+                longest = worker.elapsed();
+            }
+        }
+        this.errors = errorCount;
+        this.elapsed = longest;
+    }
+
+    /** Iterations executed by all workers. */
+    public long requests() {
+        return latencies.count();
+    }
+
+    /** Iterations that threw, across all workers. */
+    public long errors() {
+        return errors;
+    }
+
+    /** Aggregate throughput, based on the slowest worker's elapsed time. */
+    public double throughputPerSecond() {
+        return elapsed.isZero() ? 0 : requests() / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    /** Latencies of all workers merged. */
+    public LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    public List<WorkerResult> workers() {
+        return workers;
+    }
+
+    /**
+     * JSON summary (totals, throughput, latency percentiles in ms, per-worker breakdown).
+     */
+    public String toJson() {
+        ObjectNode root = Wire.MAPPER.createObjectNode();
+        root.put("scenario", scenario);
+        root.put("workers", workers.size());
+        root.put("concurrencyPerWorker", concurrency);
+        root.put("plannedDurationMs", plannedDuration.toMillis());
+        root.put("elapsedMs", elapsed.toMillis());
+        root.put("requests", requests());
+        root.put("errors", errors);
+        root.put("throughputPerSecond", round(throughputPerSecond()));
+        root.set("latencyMs", percentiles(latencies));
+
+        ArrayNode perWorker = root.putArray("perWorker");
+        for (WorkerResult worker : workers) {
+            ObjectNode node = perWorker.addObject();
+            node.put("worker", worker.worker());
+            node.put("requests", worker.requests());
+            node.put("errors", worker.errors());
+            if (worker.firstError() != null) {
+                node.put("firstError", worker.firstError());
+            }
+            node.set("latencyMs", percentiles(worker.latencies()));
+        }
+
+        try {
+            return Wire.MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render load report", e);
+        }
+    }
+
+    /** Writes {@link #toJson()} to {@code file}, creating parent directories. */
+    public void writeJson(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write load report: " + file, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d requests, %d errors, %.1f req/s, p50=%.1fms p99=%.1fms",
+                scenario, requests(), errors, throughputPerSecond(),
+                latencies.percentileMicros(50) / 1000.0, latencies.percentileMicros(99) / 1000.0);
+    }
+
+    // ---------- internal helpers ----------
+
+    private static ObjectNode percentiles(LatencyHistogram h) {
+        ObjectNode node = Wire.MAPPER.createObjectNode();
+        node.put("min", h.minMicros() / 1000.0);
+        node.put("mean", round(h.meanMicros() / 1000.0));
+        node.put("p50", h.percentileMicros(50) / 1000.0);
+        node.put("p90", h.percentileMicros(90) / 1000.0);
+        node.put("p95", h.percentileMicros(95) / 1000.0);
+        node.put("p99", h.percentileMicros(99) / 1000.0);
+        node.put("max", h.maxMicros() / 1000.0);
+        return node;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
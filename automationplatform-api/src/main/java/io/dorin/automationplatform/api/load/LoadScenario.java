@@ -0,0 +1,27 @@
+package io.dorin.automationplatform.api.load;
+
+import io.dorin.automationplatform.api.ApiClient;
+
+/**
+ * One iteration of a load test, executed repeatedly by every virtual user of every worker.
+ *
+ * <p>
+ * Implementations must be public and have a public no-arg constructor: workers run in
+ * separate JVMs and instantiate the scenario by class name. Each virtual user gets its own
+ * instance, so fields are not shared between threads.
+ * </p>
+ *
+ * <p>
+ * An iteration that throws is counted as an error; its latency is still recorded.
+ * </p>
+ */
+@FunctionalInterface
+public interface LoadScenario {
+
+    /**
+     * Executes one iteration against the worker's {@link ApiClient}
+     * (configured from the coordinator's {@link io.dorin.automationplatform.api.ApiConfig},
+     * without Allure attachments).
+     */
+    void execute(ApiClient client) throws Exception;
+}
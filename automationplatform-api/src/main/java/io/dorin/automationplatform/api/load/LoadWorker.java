@@ -0,0 +1,165 @@
+package io.dorin.automationplatform.api.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dorin.automationplatform.api.ApiClient;
+import io.dorin.automationplatform.api.ApiConfig;
+import io.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Worker JVM entry point used by {@link LoadCoordinator}.
+ *
+ * <p>
+ * Usage: {@code java -cp <classpath> io.dorin.automationplatform.api.load.LoadWorker <host> <port> <workerId>}
+ * </p>
+ *
+ * <p>
+ * The worker connects to the coordinator, receives the {@link LoadPlan}, instantiates one
+ * {@link LoadScenario} per virtual user, waits for the common start signal, runs for the
+ * planned duration and sends back its {@link LatencyHistogram}.
+ * Requests are sent without the Allure filter: there is no test running in a worker JVM.
+ * </p>
+ */
+public final class LoadWorker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadWorker.class);
+
+    private LoadWorker() {
+        // entry point only
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            LOG.error("Usage: LoadWorker <coordinatorHost> <coordinatorPort> <workerId>");
+            System.exit(2);
+        }
+        try {
+            run(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        } catch (Exception e) {
+            LOG.error("Load worker {} failed", args[2], e);
+            System.exit(1);
+        }
+    }
+
+    static void run(String host, int port, int workerId) throws Exception {
+        Wire wire = new Wire(new Socket(host, port));
+        try {
+            wire.send(Wire.message(Wire.HELLO).put("worker", workerId));
+            JsonNode plan = wire.receive(Wire.PLAN, 0);
+
+            ApiClient client;
+            List<LoadScenario> users;
+            try {
+                client = new ApiClient(
+                        ApiConfig.of(
+                                plan.path("baseUrl").asText(),
+                                Duration.ofMillis(plan.path("connectTimeoutMs").asLong()),
+                                Duration.ofMillis(plan.path("readTimeoutMs").asLong())
+                        ),
+                        RequestSpecification::noFilters
+                );
+                users = instantiate(plan.path("scenario").asText(), plan.path("concurrency").asInt());
+            } catch (Exception e) {
+                wire.send(Wire.message(Wire.FAILED).put("message", "Cannot prepare scenario: " + e));
+                return;
+            }
+
+            wire.send(Wire.message(Wire.READY));
+            wire.receive(Wire.START, 0);
+
+            WorkerResult result = execute(workerId, client, users, Duration.ofMillis(plan.path("durationMs").asLong()));
+
+            ObjectNode message = Wire.message(Wire.RESULT)
+                    .put("worker", workerId)
+                    .put("errors", result.errors())
+                    .put("elapsedMs", result.elapsed().toMillis());
+            if (result.firstError() != null) {
+                message.put("firstError", result.firstError());
+            }
+            message.set("latencies", result.latencies().toJson());
+            wire.send(message);
+        } finally {
+            wire.close();
+        }
+    }
+
+    // ---------- internal helpers ----------
+
+    private static List<LoadScenario> instantiate(String className, int count) throws ReflectiveOperationException {
+        Class<?> type = Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+        if (!LoadScenario.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException(className + " does not implement " + LoadScenario.class.getName());
+        }
+        List<LoadScenario> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add((LoadScenario) type.getDeclaredConstructor().newInstance());
+        }
+        return users;
+    }
+
+    private static WorkerResult execute(int workerId, ApiClient client, List<LoadScenario> users, Duration duration)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(users.size(), r -> {
+            Thread t = new Thread(r, "load-worker-" + workerId + "-vu");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        try {
+            List<Future<UserStats>> futures = new ArrayList<>();
+            for (LoadScenario user : users) {
+                futures.add(pool.submit(() -> runUser(user, client, deadline)));
+            }
+
+            LatencyHistogram merged = new LatencyHistogram();
+            long errors = 0;
+            String firstError = null;
+            for (Future<UserStats> future : futures) {
+                UserStats stats = future.get();
+                merged.merge(stats.latencies);
+                errors += stats.errors;
+                if (firstError == null) {
+                    firstError = stats.firstError;
+                }
+            }
+            return new WorkerResult(workerId, errors, firstError, Duration.ofNanos(System.nanoTime() - started), merged);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static UserStats runUser(LoadScenario scenario, ApiClient client, long deadline) {
+        UserStats stats = new UserStats();
+        while (System.nanoTime() < deadline) {
+            long t0 = System.nanoTime();
+            try {
+                scenario.execute(client);
+            } catch (Throwable e) {
+                stats.errors++;
+                if (stats.firstError == null) {
+                    stats.firstError = e.toString();
+                }
+            }
+            stats.latencies.recordNanos(System.nanoTime() - t0);
+        }
+        return stats;
+    }
+
+    private static final class UserStats {
+        final LatencyHistogram latencies = new LatencyHistogram();
+        long errors;
+        String firstError;
+    }
+}
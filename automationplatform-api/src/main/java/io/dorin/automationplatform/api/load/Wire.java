@@ -0,0 +1,85 @@
+package io.dorin.automationplatform.api.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Coordinator / worker protocol: one JSON object per line over a TCP socket.
+ *
+ * <pre>
+ * worker      -&gt; coordinator : {"type":"hello","worker":N}
+ * coordinator -&gt; worker      : {"type":"plan", scenario, baseUrl, timeouts, concurrency, durationMs}
+ * worker      -&gt; coordinator : {"type":"ready"} | {"type":"failed","message":...}
+ * coordinator -&gt; worker      : {"type":"start"}   (sent to all workers once all are ready)
+ * worker      -&gt; coordinator : {"type":"result", ...} | {"type":"failed","message":...}
+ * </pre>
+ */
+final class Wire {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final String HELLO = "hello";
+    static final String PLAN = "plan";
+    static final String READY = "ready";
+    static final String START = "start";
+    static final String RESULT = "result";
+    static final String FAILED = "failed";
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final Writer out;
+
+    Wire(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    static ObjectNode message(String type) {
+        return MAPPER.createObjectNode().put("type", type);
+    }
+
+    void send(ObjectNode message) throws IOException {
+        out.write(MAPPER.writeValueAsString(message));
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Reads the next message; a {@code failed} message is turned into an exception.
+     */
+    JsonNode receive(String expectedType, int timeoutMillis) throws IOException {
+        socket.setSoTimeout(timeoutMillis);
+        String line = in.readLine();
+        if (line == null) {
+            throw new EOFException("Connection closed while waiting for '" + expectedType + "'");
+        }
+        JsonNode message = MAPPER.readTree(line);
+        String type = message.path("type").asText();
+        if (FAILED.equals(type)) {
+            throw new IOException("Peer failed: " + message.path("message").asText());
+        }
+        if (!expectedType.equals(type)) {
+            throw new IOException("Expected '" + expectedType + "' message but got '" + type + "'");
+        }
+        return message;
+    }
+
+    void close() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // best-effort
+        }
+    }
+}
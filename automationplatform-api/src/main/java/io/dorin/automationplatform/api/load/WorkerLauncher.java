@@ -0,0 +1,65 @@
+package io.dorin.automationplatform.api.load;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts a worker JVM that runs {@link LoadWorker#main(String[])} with the given arguments.
+ *
+ * <p>
+ * Implementations:
+ * <ul>
+ *   <li>{@link #local()} - child process on this machine, same JDK and classpath</li>
+ *   <li>{@link #ssh(String)} - process on a remote host over {@code ssh}; the host must have
+ *       a JDK and the same classpath layout (e.g. a shared checkout / build directory)</li>
+ * </ul>
+ * Workers can also be started by any other means (container, CI job) as long as they run
+ * {@code LoadWorker <coordinatorHost> <coordinatorPort> <workerId>}.
+ * </p>
+ */
+@FunctionalInterface
+public interface WorkerLauncher {
+
+    /**
+     * Launches one worker.
+     *
+     * @param workerArgs arguments for {@link LoadWorker#main(String[])}
+     * @return the started process, or {@code null} if the worker is not managed by this JVM
+     */
+    Process launch(List<String> workerArgs) throws IOException;
+
+    /**
+     * Child JVM on this machine using the current JDK and classpath.
+     */
+    static WorkerLauncher local() {
+        return args -> {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(LoadWorker.class.getName());
+            command.addAll(args);
+            return new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+        };
+    }
+
+    /**
+     * JVM on {@code host}, started with {@code ssh host java -cp <this classpath> ...}.
+     */
+    static WorkerLauncher ssh(String host) {
+        return args -> {
+            List<String> command = new ArrayList<>(List.of("ssh", host, "java", "-cp",
+                    System.getProperty("java.class.path"), LoadWorker.class.getName()));
+            command.addAll(args);
+            return new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+        };
+    }
+}
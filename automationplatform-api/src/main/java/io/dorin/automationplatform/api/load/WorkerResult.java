@@ -0,0 +1,20 @@
+package io.dorin.automationplatform.api.load;
+
+import java.time.Duration;
+
+/**
+ * Measurements of one worker JVM.
+ *
+ * @param worker     worker id (1-based)
+ * @param errors     iterations that threw
+ * @param firstError message of the first error, {@code null} if there were none
+ * @param elapsed    time from the start signal until the last virtual user finished
+ * @param latencies  latency of every iteration (successful or not)
+ */
+public record WorkerResult(int worker, long errors, String firstError, Duration elapsed, LatencyHistogram latencies) {
+
+    /** Number of iterations executed. */
+    public long requests() {
+        return latencies.count();
+    }
+}
@@ -0,0 +1,87 @@
+package io.dorin.automationplatform.api.setup;
+
+import io.dorin.automationplatform.api.ApiClient;
+import io.dorin.automationplatform.api.RequestCustomizer;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link RequestCustomizer} that adds a cached bearer token to every request.
+ *
+ * <p>
+ * The token is fetched through a {@link SetupCache}, so all tests sharing the cache
+ * (by default the JVM-wide {@link SetupCache#shared()}) reuse one token, concurrent
+ * tests waiting for it trigger a single call to the identity server, and the token is
+ * refreshed in the background shortly before it expires.
+ * </p>
+ *
+ * <p>
+ * Example:
+ * <pre>
+ * AuthTokenProvider auth = AuthTokenProvider.bearer("idp:client-a", () -&gt; {
+ *     JsonPath body = RestAssured.given().formParams(...).post(tokenUrl).jsonPath();
+ *     return Expiring.in(body.getString("access_token"), Duration.ofSeconds(body.getLong("expires_in")));
+ * });
+ * ApiClient client = new ApiClient(ApiConfig.fromSystem(), auth);
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * The same provider also authenticates {@link ApiClient#streaming()} requests of that client.
+ * </p>
+ *
+ * <p>
+ * The token loader must not use a client that has this provider attached
+ * (it would ask itself for a token).
+ * </p>
+ */
+public final class AuthTokenProvider implements RequestCustomizer {
+
+    private final String cacheKey;
+    private final SetupCache cache;
+    private final Callable<Expiring<String>> tokenLoader;
+
+    public AuthTokenProvider(String cacheKey, SetupCache cache, Callable<Expiring<String>> tokenLoader) {
+        this.cacheKey = Objects.requireNonNull(cacheKey, "cacheKey");
+        this.cache = Objects.requireNonNull(cache, "cache");
+        this.tokenLoader = Objects.requireNonNull(tokenLoader, "tokenLoader");
+    }
+
+    /**
+     * Bearer token provider backed by the JVM-wide {@link SetupCache#shared()}.
+     *
+     * @param cacheKey identifies the token (e.g. identity server + client id); providers
+     *                 created with the same key share the same token
+     */
+    public static AuthTokenProvider bearer(String cacheKey, Callable<Expiring<String>> tokenLoader) {
+        return new AuthTokenProvider(cacheKey, SetupCache.shared(), tokenLoader);
+    }
+
+    /**
+     * Current token, loading or waiting for it if necessary.
+     */
+    public String token() {
+        return cache.get(cacheKey, tokenLoader);
+    }
+
+    /**
+     * {@code Authorization} header value for the current token ({@code Bearer <token>}).
+     */
+    public String authorization() {
+        return "Bearer " + token();
+    }
+
+    /**
+     * Forces the next request to fetch a new token (e.g. after a 401).
+     */
+    public void invalidate() {
+        cache.invalidate(cacheKey);
+    }
+
+    @Override
+    public RequestSpecification customize(RequestSpecification spec) {
+        return spec.header("Authorization", authorization());
+    }
+}
@@ -0,0 +1,51 @@
+package io.dorin.automationplatform.api.setup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A value together with when it must no longer be used: either an absolute instant or a
+ * time-to-live that {@link SetupCache} turns into an instant with its own clock.
+ *
+ * <p>
+ * Returned by loaders passed to {@link SetupCache}. For OAuth tokens the expiry
+ * should come from the token response ({@code expires_in}); for reference data a
+ * fixed TTL is usually enough.
+ * </p>
+ *
+ * @param value     cached value (never null)
+ * @param expiresAt instant after which the value is considered stale, {@code null} for the TTL form
+ * @param ttl       lifetime counted from the end of the load, {@code null} for the absolute form
+ */
+public record Expiring<T>(T value, Instant expiresAt, Duration ttl) {
+
+    public Expiring {
+        Objects.requireNonNull(value, "value");
+        if ((expiresAt == null) == (ttl == null)) {
+            throw new IllegalArgumentException("Exactly one of expiresAt and ttl must be set");
+        }
+    }
+
+    /**
+     * Value that expires at an absolute instant (e.g. a JWT {@code exp} claim).
+     */
+    public static <T> Expiring<T> at(T value, Instant expiresAt) {
+        return new Expiring<>(value, Objects.requireNonNull(expiresAt, "expiresAt"), null);
+    }
+
+    /**
+     * Value that expires {@code ttl} after it was loaded (e.g. {@code expires_in} of a token
+     * response). The cache resolves the expiry against its own clock.
+     */
+    public static <T> Expiring<T> in(T value, Duration ttl) {
+        return new Expiring<>(value, null, Objects.requireNonNull(ttl, "ttl"));
+    }
+
+    /**
+     * Expiry of a value loaded at {@code loadedAt}.
+     */
+    public Instant expiresAt(Instant loadedAt) {
+        return expiresAt != null ? expiresAt : loadedAt.plus(ttl);
+    }
+}
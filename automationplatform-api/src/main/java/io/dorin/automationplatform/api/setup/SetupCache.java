@@ -0,0 +1,264 @@
+package io.dorin.automationplatform.api.setup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expiry-aware cache for idempotent test setup calls (auth tokens, reference data).
+ *
+ * <p>
+ * Behaviour:
+ * <ul>
+ *   <li>values are kept until the expiry returned by their loader</li>
+ *   <li>concurrent misses for the same key trigger a single upstream call (single-flight);
+ *       the other callers wait for and share its result</li>
+ *   <li>a hit inside the refresh-ahead window returns the current value immediately and
+ *       reloads it on a background thread, so callers do not block on expiry</li>
+ *   <li>hit / miss / refresh counters are exposed through {@link #stats()}</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Failed loads are never cached: the exception is rethrown to every waiting caller and
+ * the next call tries again. A failed background refresh keeps serving the current value
+ * until it expires.
+ * </p>
+ *
+ * <p>
+ * {@link #shared()} returns a JVM-wide instance so that all tests of a run (including
+ * parallel ones) reuse the same token / reference data.
+ * </p>
+ */
+public final class SetupCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SetupCache.class);
+
+    /** Default window before expiry in which a hit triggers a background refresh. */
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofSeconds(30);
+
+    private static final SetupCache SHARED = new SetupCache(DEFAULT_REFRESH_AHEAD);
+
+    private static final ExecutorService REFRESHER = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "setup-cache-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Duration refreshAhead;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, Entry> values = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public SetupCache(Duration refreshAhead) {
+        this(refreshAhead, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock time source for expiry and refresh decisions; TTLs returned through
+     *              {@link Expiring#in} are resolved against it as well
+     */
+    public SetupCache(Duration refreshAhead, Clock clock) {
+        if (refreshAhead == null || refreshAhead.isNegative()) {
+            throw new IllegalArgumentException("refreshAhead must be >= 0: " + refreshAhead);
+        }
+        this.refreshAhead = refreshAhead;
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    /**
+     * JVM-wide cache shared by all tests of the current run.
+     */
+    public static SetupCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cached value for {@code key}, loading it with {@code loader} if it is
+     * missing or expired.
+     *
+     * <p>
+     * The loader must be idempotent and must not call back into this cache for the same key.
+     * Checked exceptions thrown by the loader are wrapped in a {@link RuntimeException}.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Callable<Expiring<T>> loader) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(loader, "loader");
+
+        Instant now = clock.instant();
+        Entry current = values.get(key);
+
+        if (current != null && now.isBefore(current.expiresAt)) {
+            hits.increment();
+            if (!now.isBefore(current.refreshAt)) {
+                refreshInBackground(key, loader);
+            }
+            return (T) current.value;
+        }
+
+        misses.increment();
+        return (T) await(load(key, loader)).value;
+    }
+
+    /**
+     * Drops the cached value for {@code key}, e.g. after the server rejected a token with 401.
+     */
+    public void invalidate(String key) {
+        values.remove(key);
+    }
+
+    /**
+     * Drops all cached values. Counters are kept.
+     */
+    public void clear() {
+        values.clear();
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    public Stats stats() {
+        return new Stats(
+                hits.sum(),
+                misses.sum(),
+                loads.sum(),
+                refreshes.sum(),
+                sharedLoads.sum(),
+                failures.sum()
+        );
+    }
+
+    // ---------- internal helpers ----------
+
+    /**
+     * Starts at most one background refresh per key: the in-flight slot is claimed on the
+     * calling thread, so concurrent hits in the refresh window neither queue extra reloads
+     * nor inflate the refresh counter.
+     */
+    private void refreshInBackground(String key, Callable<? extends Expiring<?>> loader) {
+        CompletableFuture<Entry> claimed = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, claimed) != null) {
+            return;
+        }
+        refreshes.increment();
+        claimed.whenComplete((entry, e) -> {
+            if (e != null) {
+                LOG.warn("Background refresh failed for setup cache key '{}'", key, e);
+            }
+        });
+        try {
+            REFRESHER.execute(() -> runLoad(key, loader, claimed));
+        } catch (RuntimeException e) {
+            inFlight.remove(key, claimed);
+            claimed.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Single-flight load: the first caller for a key runs the loader on its own thread,
+     * concurrent callers get the same future.
+     */
+    private CompletableFuture<Entry> load(String key, Callable<? extends Expiring<?>> loader) {
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            sharedLoads.increment();
+            return existing;
+        }
+        runLoad(key, loader, created);
+        return created;
+    }
+
+    /**
+     * Runs the loader for a key whose in-flight slot is held by {@code target}, then frees the slot.
+     */
+    private void runLoad(String key, Callable<? extends Expiring<?>> loader, CompletableFuture<Entry> target) {
+        try {
+            // Another caller may have finished loading between our miss and claiming the slot.
+            Entry current = values.get(key);
+            if (current != null && clock.instant().isBefore(current.refreshAt)) {
+                target.complete(current);
+                return;
+            }
+
+            loads.increment();
+            Expiring<?> loaded = Objects.requireNonNull(loader.call(), "Setup loader returned null for key: " + key);
+            Instant loadedAt = clock.instant();
+            Entry entry = new Entry(loaded.value(), loadedAt, loaded.expiresAt(loadedAt), refreshAhead);
+            values.put(key, entry);
+            target.complete(entry);
+        } catch (Throwable e) {
+            failures.increment();
+            target.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, target);
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static final class Entry {
+        final Object value;
+        final Instant expiresAt;
+        final Instant refreshAt;
+
+        Entry(Object value, Instant loadedAt, Instant expiresAt, Duration refreshAhead) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            // Never refresh in the first half of a short-lived value's life,
+            // otherwise every hit on a token with a tiny TTL would trigger a reload.
+            Duration lifetime = Duration.between(loadedAt, expiresAt);
+            Duration window = refreshAhead.compareTo(lifetime.dividedBy(2)) > 0
+                    ? lifetime.dividedBy(2)
+                    : refreshAhead;
+            this.refreshAt = expiresAt.minus(window.isNegative() ? Duration.ZERO : window);
+        }
+    }
+
+    /**
+     * Cache counters.
+     *
+     * @param hits        calls served from a non-expired value
+     * @param misses      calls that found no value (or an expired one) and had to wait for a load
+     * @param loads       upstream calls actually performed
+     * @param refreshes   background refreshes started by hits inside the refresh-ahead window
+     * @param sharedLoads callers that joined an in-flight load instead of starting their own
+     * @param failures    loads that threw
+     */
+    public record Stats(long hits, long misses, long loads, long refreshes, long sharedLoads, long failures) {
+    }
+}
@@ -0,0 +1,116 @@
+package io.dorin.automationplatform.api.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Pulls the next element out of a response body; {@code null} marks the end of the stream.
+ * Implementations read only as much of the body as one element needs.
+ */
+@FunctionalInterface
+interface ElementReader<T> {
+
+    T next() throws IOException;
+
+    /** Whatever the network delivered, at most {@code maxBytes} per element. */
+    static ElementReader<byte[]> chunks(InputStream in, int maxBytes) {
+        byte[] buffer = new byte[maxBytes];
+        return () -> {
+            int read = in.read(buffer);
+            return read < 0 ? null : Arrays.copyOf(buffer, read);
+        };
+    }
+
+    /** UTF-8 lines, terminated by {@code \n}, {@code \r\n} or {@code \r}. */
+    static ElementReader<String> lines(InputStream in) {
+        return reader(in)::readLine;
+    }
+
+    /** One JSON value per non-blank line. */
+    static ElementReader<JsonNode> ndjson(InputStream in, ObjectMapper mapper) {
+        BufferedReader reader = reader(in);
+        return new ElementReader<>() {
+            private long lineNumber;
+
+            @Override
+            public JsonNode next() throws IOException {
+                String line;
+                do {
+                    line = reader.readLine();
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                try {
+                    return mapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    throw new IOException("Invalid NDJSON record at line " + lineNumber + ": "
+                            + e.getOriginalMessage(), e);
+                }
+            }
+        };
+    }
+
+    /**
+     * {@code text/event-stream} parsing as specified by the HTML living standard: comment lines are
+     * skipped, {@code data} lines are joined, the last event id is carried over, and an event
+     * that is not terminated by a blank line before the end of the stream is dropped.
+     */
+    static ElementReader<SseEvent> sse(InputStream in) {
+        BufferedReader reader = reader(in);
+        return new ElementReader<>() {
+            private String lastEventId;
+
+            @Override
+            public SseEvent next() throws IOException {
+                String event = null;
+                StringBuilder data = null;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (data != null) {
+                            return new SseEvent(lastEventId, event == null ? "message" : event, data.toString());
+                        }
+                        event = null;
+                        continue;
+                    }
+                    if (line.startsWith(":")) {
+                        continue;
+                    }
+                    int colon = line.indexOf(':');
+                    String field = colon < 0 ? line : line.substring(0, colon);
+                    String value = colon < 0 ? "" : line.substring(colon + 1);
+                    if (value.startsWith(" ")) {
+                        value = value.substring(1);
+                    }
+                    switch (field) {
+                        case "data" -> data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+                        case "event" -> event = value;
+                        case "id" -> {
+                            if (value.indexOf('\0') < 0) {
+                                lastEventId = value;
+                            }
+                        }
+                        default -> {
+                            // "retry" and unknown fields do not affect what a test observes
+                        }
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,190 @@
+package io.dorin.automationplatform.api.stream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily read elements (chunks, lines, NDJSON records or SSE events) of a {@link StreamingResponse}.
+ *
+ * <p>
+ * Elements are read from the connection only when requested, so a test can check the first
+ * records of a multi-gigabyte export, or wait for one specific event on an endless SSE stream,
+ * without waiting for (or buffering) the rest of the body.
+ * </p>
+ *
+ * <p>
+ * The terminal helpers ({@link #each}, {@link #until}, {@link #eachUntil}, {@link #take}) close the
+ * response when they return or throw, which stops the transfer and attaches the bounded sample
+ * to Allure. When iterating manually or using {@link #stream()}, close the response yourself
+ * (try-with-resources).
+ * </p>
+ *
+ * <p>
+ * I/O failures and timeouts surface as {@link UncheckedIOException}.
+ * </p>
+ *
+ * @param <T> element type
+ */
+public final class ElementStream<T> implements Iterable<T> {
+
+    private final StreamingResponse response;
+    private final ElementReader<T> reader;
+    private final Function<? super T, String> renderer;
+
+    private T next;
+    private boolean finished;
+    private long position;
+
+    ElementStream(StreamingResponse response, ElementReader<T> reader, Function<? super T, String> renderer) {
+        this.response = response;
+        this.reader = reader;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Runs {@code assertion} on every element until the end of the stream.
+     * The first failing assertion stops the stream and is rethrown.
+     *
+     * @return number of elements checked
+     */
+    public long each(Consumer<? super T> assertion) {
+        try {
+            for (T element : this) {
+                check(element, assertion);
+            }
+            return position;
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Reads until an element matches {@code condition} and stops the stream there.
+     *
+     * @return the first matching element
+     * @throws AssertionError if the stream ends without a matching element
+     */
+    public T until(Predicate<? super T> condition) {
+        return eachUntil(element -> { }, condition);
+    }
+
+    /**
+     * Runs {@code assertion} on every element, including the last one, until an element matches
+     * {@code stopWhen}. Stops the stream as soon as an assertion fails or the condition is met.
+     *
+     * @return the first element matching {@code stopWhen}
+     * @throws AssertionError if the stream ends without a matching element
+     */
+    public T eachUntil(Consumer<? super T> assertion, Predicate<? super T> stopWhen) {
+        try {
+            for (T element : this) {
+                check(element, assertion);
+                if (stopWhen.test(element)) {
+                    response.outcome("condition met at element #" + position);
+                    return element;
+                }
+            }
+            throw new AssertionError("Stream ended after " + position
+                    + " element(s) without an element matching the condition");
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Reads at most {@code count} elements and stops the stream.
+     */
+    public List<T> take(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be >= 0");
+        }
+        try {
+            List<T> elements = new ArrayList<>(Math.min(count, 1024));
+            Iterator<T> it = iterator();
+            while (elements.size() < count && it.hasNext()) {
+                elements.add(it.next());
+            }
+            return elements;
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Sequential, lazy {@link Stream} over the elements; short-circuiting operations such as
+     * {@code anyMatch} or {@code limit} stop reading. Closing the stream closes the response.
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(response::close);
+    }
+
+    /**
+     * Single-use iterator over the elements; it shares its position with the other methods.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return advance();
+            }
+
+            @Override
+            public T next() {
+                if (!advance()) {
+                    throw new NoSuchElementException();
+                }
+                T element = next;
+                next = null;
+                return element;
+            }
+        };
+    }
+
+    // ---------- internal helpers ----------
+
+    private boolean advance() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            next = reader.next();
+        } catch (IOException e) {
+            finished = true;
+            response.outcome("failed after " + position + " element(s): " + e.getMessage());
+            throw new UncheckedIOException(e.getMessage(), e);
+        }
+        if (next == null) {
+            finished = true;
+            response.outcome("completed");
+            return false;
+        }
+        position++;
+        response.record(next, renderer);
+        return true;
+    }
+
+    private void check(T element, Consumer<? super T> assertion) {
+        try {
+            assertion.accept(element);
+        } catch (RuntimeException | Error e) {
+            response.outcome("assertion failed at element #" + position + ": " + e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.dorin.automationplatform.api.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One server-sent event.
+ *
+ * @param id    value of the last {@code id:} field, {@code null} if none
+ * @param event value of the {@code event:} field, {@code "message"} if absent
+ * @param data  {@code data:} lines joined with {@code \n}
+ */
+public record SseEvent(String id, String event, String data) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Parses {@link #data()} as JSON. */
+    public JsonNode json() {
+        try {
+            return MAPPER.readTree(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("SSE data is not JSON: " + data, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (id == null ? "" : "id=" + id + " ") + "event=" + event + " data=" + data;
+    }
+}
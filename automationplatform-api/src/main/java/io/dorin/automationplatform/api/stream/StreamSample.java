@@ -0,0 +1,82 @@
+package io.dorin.automationplatform.api.stream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded record of the elements received from a stream: the first {@link #HEAD} and the
+ * last {@link #TAIL} elements (each abbreviated), plus totals. Memory use does not depend
+ * on the length of the stream.
+ *
+ * <p>
+ * Only head elements are rendered as they arrive; the tail keeps the last raw elements and
+ * renders them when the summary is built, so elements that are never shown are never rendered.
+ * </p>
+ */
+final class StreamSample {
+
+    static final int HEAD = 20;
+    static final int TAIL = 5;
+    private static final int MAX_ELEMENT_LENGTH = 500;
+
+    private final List<String> head = new ArrayList<>();
+    private final Deque<Sampled<?>> tail = new ArrayDeque<>();
+    private long count;
+
+    synchronized <T> void record(T element, Function<? super T, String> renderer) {
+        count++;
+        if (head.size() < HEAD) {
+            head.add(line(count, renderer.apply(element)));
+            return;
+        }
+        if (tail.size() == TAIL) {
+            tail.removeFirst();
+        }
+        tail.addLast(new Sampled<>(count, element, renderer));
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    synchronized void appendTo(StringBuilder sb) {
+        if (head.isEmpty()) {
+            return;
+        }
+        sb.append("\nFirst ").append(head.size()).append(" element(s):\n");
+        head.forEach(line -> sb.append(line).append('\n'));
+        if (!tail.isEmpty()) {
+            long skipped = count - head.size() - tail.size();
+            if (skipped > 0) {
+                sb.append("... ").append(skipped).append(" element(s) not sampled ...\n");
+            }
+            sb.append("Last ").append(tail.size()).append(" element(s):\n");
+            tail.forEach(sampled -> sb.append(sampled.render()).append('\n'));
+        }
+    }
+
+    // ---------- internal helpers ----------
+
+    private static String line(long number, String element) {
+        return "#" + number + " " + abbreviate(element);
+    }
+
+    private static String abbreviate(String value) {
+        String shown = value.length() <= MAX_ELEMENT_LENGTH ? value : value.substring(0, MAX_ELEMENT_LENGTH);
+        String oneLine = shown.replace("\r", "\\r").replace("\n", "\\n");
+        if (shown.length() == value.length()) {
+            return oneLine;
+        }
+        return oneLine + "...(" + value.length() + " chars)";
+    }
+
+    private record Sampled<T>(long number, T element, Function<? super T, String> renderer) {
+
+        String render() {
+            return line(number, renderer.apply(element));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.dorin.automationplatform.api.stream;
+
+import io.dorin.automationplatform.api.ApiClient;
+import io.dorin.automationplatform.api.ApiConfig;
+
+import java.net.http.HttpClient;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Client for streaming endpoints (chunked exports, NDJSON, server-sent events).
+ *
+ * <p>
+ * Why this exists:
+ * <ul>
+ *   <li>{@link ApiClient} (RestAssured + {@code ApiAllureFilter}) reads the complete body before
+ *       anything can be asserted, which for a long export or an SSE endpoint means waiting
+ *       minutes and buffering everything</li>
+ *   <li>this client returns as soon as the response headers arrive and exposes the body as a
+ *       lazily read {@link ElementStream}, so tests can assert per element and stop early</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Uses the JDK {@link HttpClient} with the same {@link ApiConfig} (base URL, connect and read
+ * timeouts). RestAssured {@code RequestCustomizer}s do not apply here: {@link ApiClient#streaming()}
+ * carries an {@code AuthTokenProvider} over as an {@code Authorization} header and rejects other
+ * customizers. Pass further headers explicitly, using a {@link Supplier} for values that change,
+ * e.g. {@code header("X-Tenant", tenants::current)}.
+ * </p>
+ *
+ * <p>
+ * Example:
+ * <pre>
+ * try (StreamingResponse response = ApiClient.defaultClient().streaming()
+ *         .get("/orders/export").header("Accept", "application/x-ndjson").open()) {
+ *     response.ndjson().each(order -> assertThat(order.path("total").asDouble()).isPositive());
+ * }
+ * </pre>
+ * </p>
+ */
+public final class StreamingClient {
+
+    private final ApiConfig config;
+    private final HttpClient http;
+    private final Map<String, Supplier<String>> headers;
+
+    public StreamingClient(ApiConfig config) {
+        this(config, HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build(), Map.of());
+    }
+
+    private StreamingClient(ApiConfig config, HttpClient http, Map<String, Supplier<String>> headers) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.http = http;
+        this.headers = headers;
+    }
+
+    /**
+     * Returns a copy of this client that sends {@code name: value} on every request.
+     */
+    public StreamingClient header(String name, String value) {
+        Objects.requireNonNull(value, "value");
+        return header(name, () -> value);
+    }
+
+    /**
+     * Returns a copy of this client that sends {@code name} on every request, with the value
+     * resolved per request (e.g. a cached token that may be refreshed).
+     */
+    public StreamingClient header(String name, Supplier<String> value) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(value, "value");
+        Map<String, Supplier<String>> all = new LinkedHashMap<>(headers);
+        all.put(name, value);
+        return new StreamingClient(config, http, all);
+    }
+
+    /** Configuration used by this client. */
+    public ApiConfig config() {
+        return config;
+    }
+
+    public StreamingRequest get(String path) {
+        return request("GET", path);
+    }
+
+    public StreamingRequest post(String path) {
+        return request("POST", path);
+    }
+
+    /**
+     * Starts a request; {@code path} is resolved against the base URL unless it is absolute.
+     */
+    public StreamingRequest request(String method, String path) {
+        StreamingRequest request = new StreamingRequest(http, config, method, resolve(path));
+        headers.forEach((name, value) -> request.header(name, value.get()));
+        return request;
+    }
+
+    // ---------- internal helpers ----------
+
+    private String resolve(String path) {
+        if (path.startsWith("http://") || path.startsWith("https://")) {
+            return path;
+        }
+        String base = config.baseUrl();
+        if (base.endsWith("/") && path.startsWith("/")) {
+            return base + path.substring(1);
+        }
+        if (!base.endsWith("/") && !path.startsWith("/") && !path.isEmpty()) {
+            return base + "/" + path;
+        }
+        return base + path;
+    }
+}
@@ -0,0 +1,104 @@
+package io.dorin.automationplatform.api.stream;
+
+import io.dorin.automationplatform.api.ApiConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Request to a streaming endpoint, created by {@link StreamingClient}. Not thread-safe.
+ */
+public final class StreamingRequest {
+
+    private final HttpClient http;
+    private final ApiConfig config;
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    private String body;
+    private Duration timeout;
+
+    StreamingRequest(HttpClient http, ApiConfig config, String method, String url) {
+        this.http = http;
+        this.config = config;
+        this.method = Objects.requireNonNull(method, "method");
+        this.url = url;
+    }
+
+    public StreamingRequest header(String name, String value) {
+        headers.put(Objects.requireNonNull(name, "name"), Objects.requireNonNull(value, "value"));
+        return this;
+    }
+
+    /**
+     * Request body, sent as {@code application/json} unless a {@code Content-Type} header is set.
+     */
+    public StreamingRequest body(String body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Upper bound for the whole exchange, body included; without it only the read timeout
+     * (maximum wait for the next bytes) applies.
+     */
+    public StreamingRequest timeout(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be > 0");
+        }
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Sends the request and returns once status and headers are received; the body is left
+     * unread. The caller must close the response.
+     *
+     * @throws UncheckedIOException if the request fails or the headers do not arrive in time
+     */
+    public StreamingResponse open() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout == null ? config.readTimeout() : min(config.readTimeout(), timeout))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        headers.forEach(builder::header);
+        if (body != null && headers.keySet().stream().noneMatch("Content-Type"::equalsIgnoreCase)) {
+            builder.header("Content-Type", "application/json");
+        }
+
+        try {
+            HttpResponse<InputStream> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            return new StreamingResponse(requestDump(), response, config.readTimeout(), timeout);
+        } catch (IOException e) {
+            throw new UncheckedIOException(method + " " + url + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + method + " " + url, e);
+        }
+    }
+
+    // ---------- internal helpers ----------
+
+    private String requestDump() {
+        StringBuilder sb = new StringBuilder(method).append(" ").append(url);
+        if (body != null) {
+            sb.append("\nBody: ").append(body.length() > 500 ? body.substring(0, 500) + "..." : body);
+        }
+        return sb.toString();
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
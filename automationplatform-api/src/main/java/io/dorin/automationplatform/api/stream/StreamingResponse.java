@@ -0,0 +1,270 @@
+package io.dorin.automationplatform.api.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dorin.automationplatform.core.allure.AllureAttachments;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Response whose body has not been read yet.
+ *
+ * <p>
+ * Status and headers are available immediately; the body is exposed once, through one of
+ * {@link #chunks(int)}, {@link #lines()}, {@link #ndjson()} or {@link #sse()}.
+ * </p>
+ *
+ * <p>
+ * Closing the response aborts the transfer if it is still running and attaches an
+ * {@code API Stream} summary to Allure: request, status, headers, totals, how the stream ended,
+ * and a bounded sample (first and last few elements) instead of the whole body.
+ * </p>
+ *
+ * <p>
+ * Timeouts: the stream fails when a single read blocks longer than the client's read timeout
+ * (time spent in the test's own assertions does not count), or when the request's total
+ * {@link StreamingRequest#timeout(Duration) timeout} elapses.
+ * </p>
+ */
+public final class StreamingResponse implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "api-stream-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String requestLine;
+    private final HttpResponse<InputStream> response;
+    private final Body body;
+    private final StreamSample sample = new StreamSample();
+    private final AtomicBoolean viewed = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledFuture<?> watchdog;
+
+    private volatile String outcome;
+
+    StreamingResponse(String requestLine, HttpResponse<InputStream> response, Duration idleTimeout, Duration totalTimeout) {
+        this.requestLine = requestLine;
+        this.response = response;
+        this.body = new Body(response.body());
+
+        long idleNanos = idleTimeout.toNanos();
+        long deadline = totalTimeout == null ? Long.MAX_VALUE : System.nanoTime() + totalTimeout.toNanos();
+        long shortest = totalTimeout == null ? idleTimeout.toMillis() : Math.min(idleTimeout.toMillis(), totalTimeout.toMillis());
+        long period = Math.max(10, Math.min(1000, shortest / 4));
+        this.watchdog = WATCHDOG.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            if (now - deadline >= 0) {
+                body.abort("Stream did not finish within " + totalTimeout);
+            } else if (body.blockedNanos(now) >= idleNanos) {
+                body.abort("No data received for " + idleTimeout);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public int statusCode() {
+        return response.statusCode();
+    }
+
+    public HttpHeaders headers() {
+        return response.headers();
+    }
+
+    /** First value of the given response header. */
+    public Optional<String> header(String name) {
+        return response.headers().firstValue(name);
+    }
+
+    /**
+     * Raw body as it arrives from the network, at most {@code maxBytes} per element. Element
+     * boundaries follow network delivery, not necessarily the server's HTTP chunks.
+     */
+    public ElementStream<byte[]> chunks(int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be > 0");
+        }
+        return view(ElementReader.chunks(body, maxBytes),
+                bytes -> bytes.length + " bytes: " + new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /** Body as UTF-8 text lines. */
+    public ElementStream<String> lines() {
+        return view(ElementReader.lines(body), line -> line);
+    }
+
+    /** Body as newline-delimited JSON; blank lines are skipped. */
+    public ElementStream<JsonNode> ndjson() {
+        return view(ElementReader.ndjson(body, MAPPER), JsonNode::toString);
+    }
+
+    /** Body as {@code text/event-stream}. */
+    public ElementStream<SseEvent> sse() {
+        return view(ElementReader.sse(body), SseEvent::toString);
+    }
+
+    /** Elements read so far. */
+    public long received() {
+        return sample.count();
+    }
+
+    /** Body bytes read so far. */
+    public long bytesReceived() {
+        return body.bytes;
+    }
+
+    /**
+     * Text attached to Allure on {@link #close()}: bounded regardless of the stream's length.
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(requestLine).append("\n");
+        sb.append("Status: ").append(statusCode()).append("\n");
+        sb.append("\nHeaders:\n");
+        response.headers().map().forEach((name, values) ->
+                values.forEach(value -> sb.append(name).append(": ").append(value).append("\n")));
+        sb.append("\nReceived: ").append(received()).append(" element(s), ")
+                .append(bytesReceived()).append(" byte(s)\n");
+        sb.append("Outcome: ").append(currentOutcome()).append("\n");
+        sample.appendTo(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Stops the transfer (if still running) and attaches the summary to Allure. Idempotent.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        watchdog.cancel(false);
+        String summary = summary();
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // connection is discarded either way
+        }
+        AllureAttachments.text("API Stream", summary);
+    }
+
+    // ---------- internal helpers ----------
+
+    <T> void record(T element, Function<? super T, String> renderer) {
+        sample.record(element, renderer);
+    }
+
+    /** Keeps the first reason the stream stopped. */
+    synchronized void outcome(String value) {
+        if (outcome == null) {
+            outcome = value;
+        }
+    }
+
+    private synchronized String currentOutcome() {
+        if (outcome != null) {
+            return outcome;
+        }
+        return closed.get() ? "closed after " + received() + " element(s), before the end of the stream" : "in progress";
+    }
+
+    private <T> ElementStream<T> view(ElementReader<T> reader, Function<? super T, String> renderer) {
+        if (!viewed.compareAndSet(false, true)) {
+            throw new IllegalStateException("The response body can only be consumed once");
+        }
+        return new ElementStream<>(this, reader, renderer);
+    }
+
+    /**
+     * Counts bytes, tracks how long the current read has been blocked, and turns an abort by the
+     * watchdog into an {@link HttpTimeoutException} rather than a silent end of stream.
+     */
+    private static final class Body extends FilterInputStream {
+
+        private volatile long readStarted;
+        private volatile boolean reading;
+        private volatile long bytes;
+        private volatile String abortReason;
+
+        Body(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = guard(() -> super.read());
+            if (b >= 0) {
+                bytes++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = guard(() -> super.read(buffer, offset, length));
+            if (n > 0) {
+                bytes += n;
+            }
+            return n;
+        }
+
+        void abort(String reason) {
+            if (abortReason != null) {
+                return;
+            }
+            abortReason = reason;
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // the pending read fails or ends, which is what we want
+            }
+        }
+
+        /** Nanoseconds the current read has been blocked, 0 when not reading. */
+        long blockedNanos(long now) {
+            long started = readStarted;
+            return reading ? now - started : 0;
+        }
+
+        private int guard(IoRead read) throws IOException {
+            int result;
+            readStarted = System.nanoTime();
+            reading = true;
+            try {
+                result = read.read();
+            } catch (IOException e) {
+                if (abortReason != null) {
+                    throw new HttpTimeoutException(abortReason);
+                }
+                throw e;
+            } finally {
+                reading = false;
+            }
+            if (result < 0 && abortReason != null) {
+                throw new HttpTimeoutException(abortReason);
+            }
+            return result;
+        }
+
+        @FunctionalInterface
+        private interface IoRead {
+            int read() throws IOException;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package io.dorin.automationplatform.api;
+
+import io.dorin.automationplatform.api.json.JsonDiff;
+import io.dorin.automationplatform.api.json.JsonDiffResult;
+import io.dorin.automationplatform.api.json.JsonDifference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Validates {@link JsonDiff}:
+ * <ul>
+ *   <li>structural comparison (key order, number formatting) and difference paths</li>
+ *   <li>ignored paths and order-insensitive arrays</li>
+ *   <li>early stop at the difference limit without reading the whole documents</li>
+ *   <li>streaming comparison of ~50 MB documents, also after a root field was added or removed</li>
+ * </ul>
+ */
+public class JsonDiffTest {
+
+    @Test
+    void reports_structural_differences_with_paths() {
+        JsonDiffResult result = JsonDiff.create().compare(
+                "{\"id\":1,\"price\":10.0,\"tags\":[\"a\",\"b\"],\"owner\":{\"name\":\"x\",\"age\":3}}",
+                "{\"price\":10,\"id\":1,\"tags\":[\"a\",\"c\",\"d\"],\"owner\":{\"name\":\"y\"},\"extra\":true}"
+        );
+
+        assertThat(result.truncated()).isFalse();
+        assertThat(result.differences()).containsExactly(
+                new JsonDifference("$.tags[1]", JsonDifference.Kind.CHANGED, "\"b\"", "\"c\""),
+                new JsonDifference("$.tags[2]", JsonDifference.Kind.ADDED, null, "\"d\""),
+                new JsonDifference("$.owner.name", JsonDifference.Kind.CHANGED, "\"x\"", "\"y\""),
+                new JsonDifference("$.owner.age", JsonDifference.Kind.REMOVED, "3", null),
+                new JsonDifference("$.extra", JsonDifference.Kind.ADDED, null, "true")
+        );
+    }
+
+    @Test
+    void ignores_paths_and_array_order() {
+        String expected = "{\"meta\":{\"requestId\":\"r1\",\"updatedAt\":1},"
+                + "\"items\":[{\"id\":1,\"updatedAt\":5},{\"id\":2,\"updatedAt\":6}]}";
+        String actual = "{\"meta\":{\"requestId\":\"r2\",\"updatedAt\":2},"
+                + "\"items\":[{\"id\":2,\"updatedAt\":9},{\"id\":1,\"updatedAt\":8}]}";
+
+        assertThat(JsonDiff.create().compare(expected, actual).isEmpty()).isFalse();
+
+        JsonDiffResult result = JsonDiff.create()
+                .ignorePaths("$.meta.requestId", "$..updatedAt")
+                .ignoreArrayOrder("$.items")
+                .compare(expected, actual);
+
+        assertThat(result.differences()).isEmpty();
+    }
+
+    @Test
+    void unordered_arrays_diff_unmatched_elements_structurally() {
+        JsonDiffResult result = JsonDiff.create()
+                .ignoreAllArrayOrder()
+                .compare("[{\"id\":1,\"v\":\"a\"},{\"id\":2,\"v\":\"b\"}]",
+                        "[{\"id\":2,\"v\":\"b\"},{\"id\":1,\"v\":\"z\"}]");
+
+        assertThat(result.differences()).containsExactly(
+                new JsonDifference("$[0].v", JsonDifference.Kind.CHANGED, "\"a\"", "\"z\"")
+        );
+    }
+
+    @Test
+    void diverging_keys_buffer_only_unmatched_fields() {
+        JsonDiffResult result = JsonDiff.create().compare(
+                "{\"x\":{\"k\":1,\"deep\":[1,2,{\"a\":true}]},\"y\":[1,2],\"z\":3,\"n\":1.50}",
+                "{\"y\":[1,2],\"w\":{\"q\":[1]},\"n\":1.5,\"x\":{\"deep\":[1,2,{\"a\":false}],\"k\":2}}"
+        );
+
+        assertThat(result.differences()).containsExactlyInAnyOrder(
+                new JsonDifference("$.x.deep[2].a", JsonDifference.Kind.CHANGED, "true", "false"),
+                new JsonDifference("$.x.k", JsonDifference.Kind.CHANGED, "1", "2"),
+                new JsonDifference("$.z", JsonDifference.Kind.REMOVED, "3", null),
+                new JsonDifference("$.w", JsonDifference.Kind.ADDED, null, "{...}")
+        );
+    }
+
+    @Test
+    void added_or_removed_root_field_does_not_stop_streaming() {
+        // the extra field diverges the keys before a ~50 MB array; the change at [10] must
+        // still be found after reading only the beginning of both documents
+        CountingStream expected = new CountingStream(new GeneratedArray(1_000_000, -1, "{\"items\":"));
+        CountingStream actual = new CountingStream(new GeneratedArray(1_000_000, 10, "{\"extra\":1,\"items\":"));
+
+        JsonDiffResult added = JsonDiff.create().maxDifferences(1).compare(expected, actual);
+
+        assertThat(added.differences()).extracting(JsonDifference::path).containsExactly("$.items[10].name");
+        assertThat(expected.count).isLessThan(1024 * 1024);
+        assertThat(actual.count).isLessThan(1024 * 1024);
+
+        CountingStream golden = new CountingStream(new GeneratedArray(1_000_000, -1, "{\"extra\":{\"a\":[1]},\"items\":"));
+        CountingStream response = new CountingStream(new GeneratedArray(1_000_000, 10, "{\"items\":"));
+
+        JsonDiffResult removed = JsonDiff.create().maxDifferences(1).compare(golden, response);
+
+        assertThat(removed.differences()).extracting(JsonDifference::path).containsExactly("$.items[10].name");
+        assertThat(response.count).isLessThan(1024 * 1024);
+    }
+
+    @Test
+    void extra_root_field_before_50mb_array_is_reported() {
+        int elements = 1_000_000;
+        JsonDiffResult result = JsonDiff.create().compare(
+                new GeneratedArray(elements, -1, "{\"items\":"),
+                new GeneratedArray(elements, -1, "{\"extra\":1,\"items\":"));
+
+        assertThat(result.truncated()).isFalse();
+        assertThat(result.differences()).containsExactly(
+                new JsonDifference("$.extra", JsonDifference.Kind.ADDED, null, "1"));
+    }
+
+    @Test
+    void stops_reading_at_the_difference_limit() {
+        CountingStream expected = new CountingStream(new GeneratedArray(1_000_000, -1));
+        CountingStream actual = new CountingStream(new GeneratedArray(1_000_000, 10));
+
+        JsonDiffResult result = JsonDiff.create().maxDifferences(1).compare(expected, actual);
+
+        assertThat(result.truncated()).isTrue();
+        assertThat(result.differences()).extracting(JsonDifference::path).containsExactly("$[10].name");
+        assertThat(actual.count).isLessThan(1024 * 1024);
+    }
+
+    @Test
+    void compares_50mb_documents_as_streams() {
+        // ~55 bytes per element -> ~50 MB per document, generated on the fly
+        int elements = 1_000_000;
+        JsonDiffResult same = JsonDiff.create()
+                .compare(new GeneratedArray(elements, -1), new GeneratedArray(elements, -1));
+        assertThat(same.isEmpty()).isTrue();
+
+        JsonDiffResult last = JsonDiff.create()
+                .compare(new GeneratedArray(elements, -1), new GeneratedArray(elements, elements - 1));
+        assertThat(last.differences()).extracting(JsonDifference::path)
+                .containsExactly("$[" + (elements - 1) + "].name");
+    }
+
+    @Test
+    void golden_mismatch_attaches_diff_and_fails(@TempDir Path dir) throws IOException {
+        Path golden = dir.resolve("golden.json");
+        Files.writeString(golden, "{\"status\":\"UP\",\"version\":\"1.0\"}");
+
+        JsonDiff diff = JsonDiff.create();
+        diff.assertMatchesGolden("health", golden, "{\"version\":\"1.0\",\"status\":\"UP\"}");
+
+        assertThatThrownBy(() -> diff.assertMatchesGolden("health", golden, "{\"status\":\"DOWN\",\"version\":\"1.0\"}"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("$.status: expected \"UP\" but was \"DOWN\"");
+    }
+
+    /**
+     * Generates {@code [{"id":0,"name":"element-0",...}, ...]} lazily; the element at
+     * {@code changedIndex} gets a different name. With a {@code prefix} such as
+     * {@code {"items":} the array becomes the last field of an object.
+     */
+    private static final class GeneratedArray extends InputStream {
+
+        private final int elements;
+        private final int changedIndex;
+        private final String suffix;
+        private byte[] chunk;
+        private int pos;
+        private int next;
+
+        GeneratedArray(int elements, int changedIndex) {
+            this(elements, changedIndex, "");
+        }
+
+        GeneratedArray(int elements, int changedIndex, String prefix) {
+            this.elements = elements;
+            this.changedIndex = changedIndex;
+            this.suffix = prefix.isEmpty() ? "" : "}";
+            this.chunk = (prefix + "[").getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int read() {
+            if (pos == chunk.length && !advance()) {
+                return -1;
+            }
+            return chunk[pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos == chunk.length && !advance()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - pos);
+            System.arraycopy(chunk, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        private boolean advance() {
+            if (next > elements) {
+                return false;
+            }
+            String text;
+            if (next == elements) {
+                text = "]" + suffix;
+            } else {
+                String name = next == changedIndex ? "changed" : "element-" + next;
+                text = (next == 0 ? "" : ",") + "{\"id\":" + next + ",\"name\":\"" + name + "\",\"active\":true}";
+            }
+            next++;
+            chunk = text.getBytes(StandardCharsets.UTF_8);
+            pos = 0;
+            return true;
+        }
+    }
+
+    private static final class CountingStream extends InputStream {
+
+        private final InputStream delegate;
+        private long count;
+
+        CountingStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
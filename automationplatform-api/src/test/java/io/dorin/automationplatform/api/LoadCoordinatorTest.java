@@ -0,0 +1,147 @@
+package io.dorin.automationplatform.api;
+
+import com.sun.net.httpserver.HttpServer;
+import io.dorin.automationplatform.api.load.LatencyHistogram;
+import io.dorin.automationplatform.api.load.LoadCoordinator;
+import io.dorin.automationplatform.api.load.LoadPlan;
+import io.dorin.automationplatform.api.load.LoadReport;
+import io.dorin.automationplatform.api.load.LoadScenario;
+import io.dorin.automationplatform.api.load.WorkerLauncher;
+import io.dorin.automationplatform.api.load.WorkerResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Validates the distributed load mode on a single machine:
+ * <ul>
+ *   <li>histograms are accurate, mergeable and survive the JSON round trip</li>
+ *   <li>a coordinator drives two child-process workers over localhost and merges their results</li>
+ *   <li>workers reporting the same id are rejected instead of replacing each other</li>
+ * </ul>
+ */
+public class LoadCoordinatorTest {
+
+    /** Scenario executed in the worker JVMs (instantiated by class name). */
+    public static class HealthScenario implements LoadScenario {
+        @Override
+        public void execute(ApiClient client) {
+            int status = client.request().get("/health").statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("Unexpected status " + status);
+            }
+        }
+    }
+
+    @Test
+    void histogram_percentiles_merge_and_round_trip() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            (micros % 2 == 0 ? first : second).recordMicros(micros);
+        }
+
+        LatencyHistogram merged = LatencyHistogram.fromJson(first.toJson());
+        merged.merge(LatencyHistogram.fromJson(second.toJson()));
+
+        assertThat(merged.count()).isEqualTo(100_000);
+        assertThat(merged.minMicros()).isEqualTo(1);
+        assertThat(merged.maxMicros()).isEqualTo(100_000);
+        assertThat((double) merged.percentileMicros(50)).isCloseTo(50_000, within(50_000 * 0.02));
+        assertThat((double) merged.percentileMicros(99)).isCloseTo(99_000, within(99_000 * 0.02));
+        assertThat(merged.percentileMicros(100)).isEqualTo(100_000);
+    }
+
+    @Test
+    void coordinator_merges_results_of_child_process_workers() throws Exception {
+        AtomicLong served = new AtomicLong();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.createContext("/health", exchange -> {
+            served.incrementAndGet();
+            byte[] payload = "{\"status\":\"UP\"}".getBytes();
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(payload);
+            }
+        });
+        server.start();
+
+        try {
+            ApiConfig config = ApiConfig.of(
+                    "http://127.0.0.1:" + server.getAddress().getPort(),
+                    Duration.ofSeconds(5),
+                    Duration.ofSeconds(5)
+            );
+
+            LoadReport report = LoadCoordinator.local().run(
+                    LoadPlan.of(HealthScenario.class, config)
+                            .workers(2)
+                            .concurrency(2)
+                            .duration(Duration.ofSeconds(2))
+            );
+
+            assertThat(report.workers()).extracting(WorkerResult::worker).containsExactly(1, 2);
+            assertThat(report.workers()).allSatisfy(w -> assertThat(w.requests()).isPositive());
+            assertThat(report.errors()).isZero();
+            assertThat(report.requests()).isEqualTo(served.get());
+            assertThat(report.requests())
+                    .isEqualTo(report.workers().get(0).requests() + report.workers().get(1).requests());
+            assertThat(report.toJson()).contains("\"workers\" : 2", "\"p99\"");
+        } finally {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void duplicate_worker_ids_are_rejected() throws Exception {
+        CountDownLatch disconnected = new CountDownLatch(2);
+        // externally started workers that all (wrongly) claim id 1
+        WorkerLauncher sameId = args -> {
+            Thread worker = new Thread(() -> {
+                try (Socket socket = new Socket(args.get(0), Integer.parseInt(args.get(1)));
+                     BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                    OutputStream out = socket.getOutputStream();
+                    out.write("{\"type\":\"hello\",\"worker\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    while (in.readLine() != null) {
+                        // wait for the coordinator to close the connection
+                    }
+                    disconnected.countDown();
+                } catch (IOException e) {
+                    disconnected.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+            return null;
+        };
+
+        LoadPlan plan = LoadPlan.of(HealthScenario.class,
+                        ApiConfig.of("http://127.0.0.1:1", Duration.ofSeconds(1), Duration.ofSeconds(1)))
+                .workers(2);
+
+        assertThatThrownBy(() -> new LoadCoordinator(sameId, "127.0.0.1", Duration.ofSeconds(10)).run(plan))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Two load workers connected with id 1");
+        assertThat(disconnected.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
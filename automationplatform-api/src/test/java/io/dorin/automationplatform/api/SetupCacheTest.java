@@ -0,0 +1,223 @@
+package io.dorin.automationplatform.api;
+
+import com.sun.net.httpserver.HttpServer;
+import io.dorin.automationplatform.api.setup.AuthTokenProvider;
+import io.dorin.automationplatform.api.setup.Expiring;
+import io.dorin.automationplatform.api.setup.SetupCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Validates {@link SetupCache} and {@link AuthTokenProvider}:
+ * <ul>
+ *   <li>concurrent misses trigger a single upstream call</li>
+ *   <li>expired values are reloaded, failures are not cached</li>
+ *   <li>hits near expiry refresh once in the background, with expiry on the cache clock</li>
+ *   <li>the token is applied by {@link ApiClient#request()}</li>
+ * </ul>
+ */
+public class SetupCacheTest {
+
+    @Test
+    void concurrent_misses_share_a_single_load() throws Exception {
+        SetupCache cache = new SetupCache(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> cache.get("token", () -> {
+                    calls.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return Expiring.in("t-1", Duration.ofMinutes(5));
+                })));
+            }
+
+            // give every thread the chance to join the in-flight load
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("t-1");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.stats().loads()).isEqualTo(1);
+        assertThat(cache.stats().hits() + cache.stats().misses()).isEqualTo(threads);
+    }
+
+    @Test
+    void expired_values_are_reloaded_and_failures_are_not_cached() throws Exception {
+        SetupCache cache = new SetupCache(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> cache.get("ref", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("identity server down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        String first = cache.get("ref", () -> Expiring.in("v" + calls.incrementAndGet(), Duration.ofMillis(100)));
+        Thread.sleep(150);
+        String second = cache.get("ref", () -> Expiring.in("v" + calls.incrementAndGet(), Duration.ofMinutes(5)));
+        String third = cache.get("ref", () -> Expiring.in("v" + calls.incrementAndGet(), Duration.ofMinutes(5)));
+
+        assertThat(first).isEqualTo("v2");
+        assertThat(second).isEqualTo("v3");
+        assertThat(third).isEqualTo("v3");
+        assertThat(cache.stats().failures()).isEqualTo(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void hit_inside_refresh_window_refreshes_once_in_background() throws Exception {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        SetupCache cache = new SetupCache(Duration.ofMinutes(1), clock);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        Callable<Expiring<String>> loader = () -> {
+            int call = calls.incrementAndGet();
+            if (call > 1) {
+                releaseRefresh.await(5, TimeUnit.SECONDS);
+            }
+            return Expiring.in("t" + call, Duration.ofMinutes(10));
+        };
+
+        assertThat(cache.get("token", loader)).isEqualTo("t1");
+
+        // before the window: plain hit
+        clock.advance(Duration.ofMinutes(8));
+        assertThat(cache.get("token", loader)).isEqualTo("t1");
+        assertThat(cache.stats().refreshes()).isZero();
+
+        // inside the window: every hit is served immediately, only one refresh starts
+        clock.advance(Duration.ofMinutes(1).plusSeconds(30));
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> cache.get("token", loader)));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("t1");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(cache.stats().refreshes()).isEqualTo(1);
+        assertThat(cache.stats().sharedLoads()).isZero();
+
+        releaseRefresh.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String current = cache.get("token", loader);
+        while (!current.equals("t2") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            current = cache.get("token", loader);
+        }
+        assertThat(current).isEqualTo("t2");
+        assertThat(calls.get()).isEqualTo(2);
+
+        // the refreshed TTL is counted on the cache clock, not on wall time
+        clock.advance(Duration.ofMinutes(8));
+        assertThat(cache.get("token", loader)).isEqualTo("t2");
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(cache.get("token", loader)).isEqualTo("t3");
+        assertThat(cache.stats().refreshes()).isEqualTo(1);
+        assertThat(cache.stats().loads()).isEqualTo(3);
+    }
+
+    @Test
+    void api_client_applies_cached_bearer_token() throws Exception {
+        AtomicReference<String> seenAuth = new AtomicReference<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/me", exchange -> {
+            seenAuth.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            byte[] payload = "{}".getBytes();
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(payload);
+            }
+        });
+        server.start();
+
+        try {
+            AtomicInteger tokenCalls = new AtomicInteger();
+            AuthTokenProvider auth = new AuthTokenProvider(
+                    "idp:test",
+                    new SetupCache(Duration.ZERO),
+                    () -> Expiring.in("abc" + tokenCalls.incrementAndGet(), Duration.ofMinutes(5))
+            );
+
+            ApiConfig config = ApiConfig.of(
+                    "http://localhost:" + server.getAddress().getPort(),
+                    Duration.ofSeconds(5),
+                    Duration.ofSeconds(5)
+            );
+            ApiClient client = new ApiClient(config, auth);
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(client.request().get("/me").statusCode()).isEqualTo(200);
+            }
+
+            assertThat(seenAuth.get()).isEqualTo("Bearer abc1");
+            assertThat(tokenCalls.get()).isEqualTo(1);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // ---------- internal helpers ----------
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant start) {
+            this.now = start;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
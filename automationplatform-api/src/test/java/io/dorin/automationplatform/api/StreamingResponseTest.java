@@ -0,0 +1,256 @@
+package io.dorin.automationplatform.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.dorin.automationplatform.api.setup.AuthTokenProvider;
+import io.dorin.automationplatform.api.setup.Expiring;
+import io.dorin.automationplatform.api.setup.SetupCache;
+import io.dorin.automationplatform.api.stream.SseEvent;
+import io.dorin.automationplatform.api.stream.StreamingClient;
+import io.dorin.automationplatform.api.stream.StreamingResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Validates incremental consumption of streaming responses against a local server:
+ * <ul>
+ *   <li>an "endless" NDJSON export is read only up to the record a test waits for</li>
+ *   <li>SSE events are parsed per spec and checked one by one until a terminal event</li>
+ *   <li>a failing per-element assertion stops the stream at that element</li>
+ *   <li>a stalled stream fails after the read timeout instead of hanging</li>
+ *   <li>the Allure summary stays bounded</li>
+ *   <li>one streaming client (and HTTP connection pool) is reused per {@link ApiClient}</li>
+ *   <li>an {@link AuthTokenProvider} of the client authenticates streaming requests; other
+ *       customizers are rejected</li>
+ * </ul>
+ */
+public class StreamingResponseTest {
+
+    private static final int EXPORT_RECORDS = 5_000_000;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private StreamingClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+
+        server.createContext("/export", exchange -> stream(exchange, "application/x-ndjson", os -> {
+            for (int id = 1; id <= EXPORT_RECORDS; id++) {
+                os.write(("{\"id\":" + id + ",\"total\":" + (id % 97 + 1) + "}\n").getBytes(StandardCharsets.UTF_8));
+                if (id % 100 == 0) {
+                    os.flush();
+                }
+            }
+        }));
+
+        server.createContext("/events", exchange -> stream(exchange, "text/event-stream", os -> {
+            write(os, ": connected\n\n");
+            for (int i = 1; i <= 3; i++) {
+                write(os, "id: " + i + "\nevent: progress\ndata: {\"percent\":" + (i * 30) + "}\n\n");
+            }
+            write(os, "event: done\ndata: line one\ndata: line two\n\n");
+            while (true) {
+                write(os, ": keep-alive\n\n");
+                sleep(50);
+            }
+        }));
+
+        server.createContext("/stall", exchange -> stream(exchange, "text/event-stream", os -> {
+            write(os, "data: first\n\n");
+            sleep(10_000);
+        }));
+
+        server.createContext("/whoami", exchange -> stream(exchange, "application/x-ndjson", os -> {
+            String auth = exchange.getRequestHeaders().getFirst("Authorization");
+            write(os, "{\"authorization\":\"" + auth + "\"}\n");
+        }));
+
+        server.start();
+        client = clientFor(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void ndjson_export_is_read_only_until_the_condition_is_met() {
+        try (StreamingResponse response = client.get("/export").header("Accept", "application/x-ndjson").open()) {
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.header("Content-Type")).hasValue("application/x-ndjson");
+
+            JsonNode match = response.ndjson().until(record -> record.path("id").asInt() == 1_000);
+
+            assertThat(match.path("total").asInt()).isEqualTo(1_000 % 97 + 1);
+            assertThat(response.received()).isEqualTo(1_000);
+            assertThat(response.bytesReceived()).isLessThan(EXPORT_RECORDS * 20L / 100);
+
+            String summary = response.summary();
+            assertThat(summary)
+                    .contains("GET http://127.0.0.1:", "Status: 200", "Received: 1000 element(s)",
+                            "Outcome: condition met at element #1000",
+                            "#1 {\"id\":1,", "element(s) not sampled", "#1000 {\"id\":1000,")
+                    .doesNotContain("#21 ", "#995 ");
+            assertThat(summary.length()).isLessThan(4_000);
+        }
+    }
+
+    @Test
+    void sse_events_are_asserted_one_by_one_until_the_terminal_event() {
+        List<SseEvent> seen = new ArrayList<>();
+        try (StreamingResponse response = client.get("/events").header("Accept", "text/event-stream").open()) {
+            SseEvent done = response.sse().eachUntil(
+                    event -> {
+                        seen.add(event);
+                        if (event.event().equals("progress")) {
+                            assertThat(event.json().path("percent").asInt()).isBetween(0, 100);
+                        }
+                    },
+                    event -> event.event().equals("done")
+            );
+
+            assertThat(done.data()).isEqualTo("line one\nline two");
+            assertThat(done.id()).isEqualTo("3");
+            assertThat(seen).extracting(SseEvent::id).containsExactly("1", "2", "3", "3");
+            assertThat(response.summary()).contains("Outcome: condition met at element #4");
+        }
+    }
+
+    @Test
+    void failing_assertion_stops_the_stream_at_that_element() {
+        StreamingResponse response = client.get("/export").open();
+
+        assertThatThrownBy(() -> response.ndjson().each(record ->
+                assertThat(record.path("id").asInt()).isLessThan(3)))
+                .isInstanceOf(AssertionError.class);
+
+        assertThat(response.received()).isEqualTo(3);
+        assertThat(response.summary()).contains("Outcome: assertion failed at element #3");
+    }
+
+    @Test
+    void chunks_and_lines_are_available_incrementally() {
+        try (StreamingResponse response = client.get("/export").open()) {
+            List<byte[]> chunks = response.chunks(512).take(3);
+
+            assertThat(chunks).hasSize(3).allSatisfy(chunk -> assertThat(chunk.length).isBetween(1, 512));
+            assertThat(new String(chunks.get(0), StandardCharsets.UTF_8)).startsWith("{\"id\":1,");
+        }
+        try (StreamingResponse response = client.get("/export").open()) {
+            assertThat(response.lines().stream().skip(9).findFirst()).hasValue("{\"id\":10,\"total\":11}");
+            assertThatThrownBy(response::lines).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void stalled_stream_fails_after_the_read_timeout() {
+        StreamingClient impatient = clientFor(Duration.ofMillis(300));
+        long start = System.nanoTime();
+
+        try (StreamingResponse response = impatient.get("/stall").open()) {
+            assertThatThrownBy(() -> response.sse().until(event -> event.data().equals("never")))
+                    .isInstanceOf(UncheckedIOException.class)
+                    .hasMessageContaining("No data received");
+            assertThat(response.received()).isEqualTo(1);
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void api_client_reuses_one_streaming_client() {
+        ApiClient api = new ApiClient(config(Duration.ofSeconds(10)));
+        StreamingClient streaming = api.streaming();
+
+        assertThat(api.streaming()).isSameAs(streaming);
+        assertThat(new ApiClient(api.config()).streaming()).isNotSameAs(streaming);
+    }
+
+    @Test
+    void auth_token_provider_is_applied_to_streaming_requests() {
+        AtomicInteger tokenCalls = new AtomicInteger();
+        AuthTokenProvider auth = new AuthTokenProvider("idp:stream", new SetupCache(Duration.ZERO),
+                () -> Expiring.in("t" + tokenCalls.incrementAndGet(), Duration.ofMinutes(5)));
+        ApiClient api = new ApiClient(config(Duration.ofSeconds(10)), auth);
+
+        for (ApiClient client : List.of(api, new ApiClient(api.config()).with(auth))) {
+            JsonNode whoami = client.streaming().get("/whoami").open().ndjson().take(1).get(0);
+            assertThat(whoami.path("authorization").asText()).isEqualTo("Bearer t1");
+        }
+        assertThat(tokenCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void other_customizers_are_rejected_instead_of_dropped() {
+        ApiClient api = new ApiClient(config(Duration.ofSeconds(10)), spec -> spec.header("X-Tenant", "a"));
+
+        assertThatThrownBy(api::streaming)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cannot be applied to streaming requests");
+    }
+
+    // ---------- internal helpers ----------
+
+    private StreamingClient clientFor(Duration readTimeout) {
+        return new ApiClient(config(readTimeout)).streaming();
+    }
+
+    private ApiConfig config(Duration readTimeout) {
+        return ApiConfig.of(
+                "http://127.0.0.1:" + server.getAddress().getPort(),
+                Duration.ofSeconds(5),
+                readTimeout
+        );
+    }
+
+    private interface Body {
+        void write(OutputStream os) throws IOException;
+    }
+
+    private static void stream(HttpExchange exchange, String contentType, Body body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream os = exchange.getResponseBody()) {
+            body.write(os);
+        } catch (IOException e) {
+            // client stopped reading; that is the point of these endpoints
+        }
+    }
+
+    private static void write(OutputStream os, String text) throws IOException {
+        os.write(text.getBytes(StandardCharsets.UTF_8));
+        os.flush();
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        }
+    }
+}
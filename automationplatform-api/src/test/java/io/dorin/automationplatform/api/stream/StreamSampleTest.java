@@ -0,0 +1,52 @@
+package io.dorin.automationplatform.api.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Validates that {@link StreamSample} renders only the elements it shows: the head as it arrives,
+ * the tail when the summary is built.
+ */
+public class StreamSampleTest {
+
+    @Test
+    void only_sampled_elements_are_rendered() {
+        List<Integer> rendered = new ArrayList<>();
+        Function<Integer, String> renderer = i -> {
+            rendered.add(i);
+            return "element-" + i;
+        };
+
+        StreamSample sample = new StreamSample();
+        for (int i = 1; i <= 100_000; i++) {
+            sample.record(i, renderer);
+        }
+
+        assertThat(rendered).hasSize(StreamSample.HEAD);
+
+        StringBuilder summary = new StringBuilder();
+        sample.appendTo(summary);
+
+        assertThat(rendered).hasSize(StreamSample.HEAD + StreamSample.TAIL)
+                .endsWith(99_996, 99_997, 99_998, 99_999, 100_000);
+        assertThat(summary.toString())
+                .contains("#20 element-20\n", "... 99975 element(s) not sampled ...", "#100000 element-100000\n")
+                .doesNotContain("#21 ");
+    }
+
+    @Test
+    void long_elements_are_abbreviated_before_escaping() {
+        StreamSample sample = new StreamSample();
+        sample.record("a\nb" + "x".repeat(10_000), Function.identity());
+
+        StringBuilder summary = new StringBuilder();
+        sample.appendTo(summary);
+
+        assertThat(summary.toString()).contains("#1 a\\nb" + "x".repeat(497) + "...(10003 chars)\n");
+    }
+}
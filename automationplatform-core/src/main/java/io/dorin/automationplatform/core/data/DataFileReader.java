@@ -0,0 +1,233 @@
+package io.dorin.automationplatform.core.data;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily turns the lines of one data file into {@link DataRow}s.
+ *
+ * <p>
+ * Rows outside the configured {@link DataShard} are skipped before they are parsed,
+ * so a node only pays the parsing cost for its own rows. Nothing is read ahead of
+ * the consumer: memory usage is bounded by the largest single row.
+ * </p>
+ */
+final class DataFileReader implements Iterator<DataRow>, Closeable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, Object>> FIELDS = new TypeReference<>() {
+    };
+
+    private final LineReader lines;
+    private final String source;
+    private final DataFormat format;
+    private final char delimiter;
+    private final boolean header;
+    private final DataShard shard;
+
+    private List<String> columns;
+    private long lineNumber;
+    private long rowIndex;
+    private DataRow next;
+    private boolean done;
+
+    DataFileReader(LineReader lines, String source, DataFormat format, char delimiter, boolean header, DataShard shard) {
+        if (format == DataFormat.AUTO) {
+            throw new IllegalArgumentException("Format must be resolved before reading: " + source);
+        }
+        this.lines = lines;
+        this.source = source;
+        this.format = format;
+        this.delimiter = delimiter;
+        this.header = header;
+        this.shard = shard;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = advance();
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public DataRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DataRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        lines.close();
+    }
+
+    // ---------- internal helpers ----------
+
+    private DataRow advance() {
+        if (format == DataFormat.CSV && header && columns == null) {
+            String headerRecord = nextRecord();
+            if (headerRecord == null) {
+                return null;
+            }
+            columns = new ArrayList<>();
+            for (String name : splitCsv(headerRecord)) {
+                columns.add(name == null ? "" : name);
+            }
+        }
+
+        while (true) {
+            String record = nextRecord();
+            if (record == null) {
+                return null;
+            }
+            long startLine = lineNumber - countLineBreaks(record);
+
+            long index = rowIndex++;
+            if (!shard.includes(index)) {
+                continue;
+            }
+            return new DataRow(source, format, index, startLine, record, parse(record, startLine));
+        }
+    }
+
+    /**
+     * Next non-blank logical record; for CSV a record continues over line breaks while a
+     * quoted field is open.
+     */
+    private String nextRecord() {
+        String line;
+        do {
+            line = lines.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        if (format != DataFormat.CSV || !hasOpenQuote(line)) {
+            return line;
+        }
+
+        StringBuilder sb = new StringBuilder(line);
+        while (hasOpenQuote(sb)) {
+            String continuation = lines.readLine();
+            if (continuation == null) {
+                throw new IllegalArgumentException("Unterminated quoted field at " + source + ":" + lineNumber);
+            }
+            lineNumber++;
+            sb.append('\n').append(continuation);
+        }
+        return sb.toString();
+    }
+
+    private Map<String, Object> parse(String record, long line) {
+        if (format == DataFormat.JSONL) {
+            try {
+                return MAPPER.readValue(record, FIELDS);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid JSON object at " + source + ":" + line, e);
+            }
+        }
+
+        List<String> values = splitCsv(record);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (columns == null) {
+            for (int i = 0; i < values.size(); i++) {
+                fields.put(String.valueOf(i), values.get(i));
+            }
+            return fields;
+        }
+
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but found "
+                    + values.size() + " at " + source + ":" + line);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(columns.get(i), values.get(i));
+        }
+        return fields;
+    }
+
+    /**
+     * RFC 4180 split. Unquoted values are trimmed and empty unquoted values become {@code null};
+     * quoted values are kept verbatim ({@code ""} is the empty string).
+     */
+    private List<String> splitCsv(String record) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quoted = false;
+
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+                quoted = true;
+                current.setLength(0);
+            } else if (c == delimiter) {
+                values.add(value(current, quoted));
+                current.setLength(0);
+                quoted = false;
+            } else if (!quoted) {
+                current.append(c);
+            }
+        }
+        values.add(value(current, quoted));
+        return values;
+    }
+
+    private static String value(StringBuilder raw, boolean quoted) {
+        if (quoted) {
+            return raw.toString();
+        }
+        String trimmed = raw.toString().trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static boolean hasOpenQuote(CharSequence s) {
+        int quotes = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return (quotes & 1) == 1;
+    }
+
+    private static int countLineBreaks(String s) {
+        int count = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
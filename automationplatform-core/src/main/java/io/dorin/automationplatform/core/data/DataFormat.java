@@ -0,0 +1,36 @@
+package io.dorin.automationplatform.core.data;
+
+import java.util.Locale;
+
+/**
+ * Supported data file formats for {@link StreamingFileSource}.
+ */
+public enum DataFormat {
+
+    /** Resolve from the file extension ({@code .csv}, {@code .jsonl} / {@code .ndjson}). */
+    AUTO,
+
+    /** Comma (or custom delimiter) separated values, RFC 4180 quoting. */
+    CSV,
+
+    /** One JSON object per line. */
+    JSONL;
+
+    /**
+     * Resolves {@link #AUTO} from the file name; other values are returned as-is.
+     */
+    DataFormat resolve(String fileName) {
+        if (this != AUTO) {
+            return this;
+        }
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        throw new IllegalArgumentException(
+                "Cannot detect data format of '" + fileName + "'; set format = CSV or JSONL explicitly");
+    }
+}
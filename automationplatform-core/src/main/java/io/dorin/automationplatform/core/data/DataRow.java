@@ -0,0 +1,34 @@
+package io.dorin.automationplatform.core.data;
+
+import java.util.Map;
+
+/**
+ * One row of a data file, as read by {@link StreamingFileSource}.
+ *
+ * <p>
+ * Declare a {@code DataRow} parameter to receive the row itself (raw text and
+ * source position included) instead of a bound record.
+ * </p>
+ *
+ * @param source human-readable origin (file path or classpath resource)
+ * @param format format the row was read with
+ * @param index  0-based data row index in the file (header excluded), before sharding
+ * @param line   1-based physical line number where the row starts
+ * @param raw    raw text of the row, as found in the file
+ * @param fields column name to value, in file order; CSV values are strings, JSONL values
+ *               are plain Java values (String, Number, Boolean, List, Map, null)
+ */
+public record DataRow(
+        String source,
+        DataFormat format,
+        long index,
+        long line,
+        String raw,
+        Map<String, Object> fields
+) {
+
+    /** Position of this row, e.g. {@code users.csv:42}. */
+    public String position() {
+        return source + ":" + line;
+    }
+}
@@ -0,0 +1,86 @@
+package io.dorin.automationplatform.core.data;
+
+import io.dorin.automationplatform.core.allure.AllureAttachments;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DataRowFailureAttachments
+ *
+ * Purpose:
+ * -------
+ * JUnit 5 extension (registered by {@link StreamingFileSource}) that attaches the raw
+ * data row to Allure when - and only when - the invocation for that row fails.
+ *
+ * Notes:
+ * ------
+ * - Passing rows produce no attachments, so large datasets do not bloat the report
+ * - Rows are tracked per test method and released as soon as their invocation finishes
+ * - Works from after-each, not around the test body, so rows whose invocation fails in
+ *   {@code @BeforeEach} or parameter resolution are attached and released too; disabled
+ *   invocations are released by {@link TestWatcher#testDisabled}
+ */
+public final class DataRowFailureAttachments implements AfterEachCallback, TestWatcher {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(DataRowFailureAttachments.class);
+
+    private static final Pattern INVOCATION_INDEX = Pattern.compile("#(\\d+)]$");
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        DataRow row = takeRow(context);
+        if (row != null && context.getExecutionException().isPresent()) {
+            attach(row);
+        }
+    }
+
+    @Override
+    public void testDisabled(ExtensionContext context, Optional<String> reason) {
+        takeRow(context);
+    }
+
+    /**
+     * Rows handed out for the test method owning {@code methodContext}, keyed by the
+     * 1-based invocation index JUnit assigns to them.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<Long, DataRow> registry(ExtensionContext methodContext) {
+        return methodContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(methodContext.getUniqueId(), k -> new ConcurrentHashMap<Long, DataRow>(), Map.class);
+    }
+
+    // ---------- internal helpers ----------
+
+    private static DataRow takeRow(ExtensionContext invocationContext) {
+        ExtensionContext methodContext = invocationContext.getParent().orElse(null);
+        if (methodContext == null) {
+            return null;
+        }
+        Matcher m = INVOCATION_INDEX.matcher(invocationContext.getUniqueId());
+        if (!m.find()) {
+            return null;
+        }
+        return registry(methodContext).remove(Long.parseLong(m.group(1)));
+    }
+
+    private static void attach(DataRow row) {
+        try {
+            String name = "Data row #" + row.index() + " (" + row.position() + ")";
+            if (row.format() == DataFormat.JSONL) {
+                AllureAttachments.json(name, row.raw());
+            } else {
+                AllureAttachments.text(name, row.raw());
+            }
+        } catch (RuntimeException ignored) {
+            // attachments are best-effort and must never hide the real failure
+        }
+    }
+}
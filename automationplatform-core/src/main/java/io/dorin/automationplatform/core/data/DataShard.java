@@ -0,0 +1,78 @@
+package io.dorin.automationplatform.core.data;
+
+import java.util.Optional;
+
+/**
+ * Selects the subset of data rows executed by the current fork / CI node.
+ *
+ * <p>
+ * Row {@code i} (0-based, header excluded) belongs to this shard when
+ * {@code i % total == index}.
+ * </p>
+ *
+ * <p>
+ * Supported inputs:
+ * <ul>
+ *   <li>-Ddata.shard.index or DATA_SHARD_INDEX (0-based, default 0)</li>
+ *   <li>-Ddata.shard.total or DATA_SHARD_TOTAL (default 1 = no sharding)</li>
+ * </ul>
+ * </p>
+ *
+ * @param index 0-based shard of this process
+ * @param total number of shards
+ */
+public record DataShard(int index, int total) {
+
+    /** Single shard that includes every row. */
+    public static final DataShard ALL = new DataShard(0, 1);
+
+    public DataShard {
+        if (total < 1) {
+            throw new IllegalArgumentException("Shard total must be >= 1: " + total);
+        }
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("Shard index must be in [0, " + total + "): " + index);
+        }
+    }
+
+    /**
+     * Creates a {@link DataShard} using system properties / environment variables.
+     */
+    public static DataShard fromSystem() {
+        int index = parseInt(firstNonBlank(
+                System.getProperty("data.shard.index"),
+                System.getenv("DATA_SHARD_INDEX")
+        ).orElse("0"));
+
+        int total = parseInt(firstNonBlank(
+                System.getProperty("data.shard.total"),
+                System.getenv("DATA_SHARD_TOTAL")
+        ).orElse("1"));
+
+        return new DataShard(index, total);
+    }
+
+    /** Whether the row with the given 0-based index belongs to this shard. */
+    public boolean includes(long rowIndex) {
+        return total == 1 || rowIndex % total == index;
+    }
+
+    // ---------- internal helpers ----------
+
+    private static Optional<String> firstNonBlank(String... values) {
+        for (String v : values) {
+            if (v != null && !v.trim().isEmpty()) {
+                return Optional.of(v.trim());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid numeric value: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.dorin.automationplatform.core.data;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sequential, lazy line source for data files.
+ *
+ * <p>
+ * Files of at least {@link #MMAP_THRESHOLD_BYTES} are read through {@link MappedLineReader};
+ * smaller files and non-file resources use a plain buffered reader.
+ * Lines are returned without their terminator ({@code \n} or {@code \r\n}).
+ * </p>
+ */
+abstract class LineReader implements Closeable {
+
+    /** Files at least this large are memory-mapped instead of read through a buffer. */
+    static final long MMAP_THRESHOLD_BYTES = 8L * 1024 * 1024;
+
+    /**
+     * Returns the next line, or {@code null} at end of input.
+     */
+    abstract String readLine();
+
+    static LineReader open(Path file) {
+        try {
+            if (Files.size(file) >= MMAP_THRESHOLD_BYTES) {
+                return new MappedLineReader(file);
+            }
+            return new Buffered(Files.newInputStream(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open data file: " + file, e);
+        }
+    }
+
+    static LineReader open(InputStream in) {
+        return new Buffered(in);
+    }
+
+    private static final class Buffered extends LineReader {
+
+        private final BufferedReader reader;
+
+        Buffered(InputStream in) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        String readLine() {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.dorin.automationplatform.core.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link LineReader} over a memory-mapped file.
+ *
+ * <p>
+ * The file is mapped in windows ({@link #WINDOW_BYTES} by default) that slide forward as lines are
+ * consumed, so only the pages around the current position are resident and files larger
+ * than 2 GB are supported. A line crossing a window boundary causes the window to be
+ * remapped from the start of that line (and doubled if the line is longer than a window).
+ * </p>
+ */
+final class MappedLineReader extends LineReader {
+
+    static final int WINDOW_BYTES = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowBytes;
+    private long position;
+
+    MappedLineReader(Path file) throws IOException {
+        this(file, WINDOW_BYTES);
+    }
+
+    /**
+     * @param windowBytes initial window size; small values exercise the boundary handling in tests
+     */
+    MappedLineReader(Path file, int windowBytes) throws IOException {
+        if (windowBytes <= 0) {
+            throw new IllegalArgumentException("windowBytes must be > 0: " + windowBytes);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowBytes = windowBytes;
+    }
+
+    @Override
+    String readLine() {
+        if (position >= size) {
+            return null;
+        }
+        try {
+            while (true) {
+                if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+                    map(position);
+                }
+
+                int start = (int) (position - windowStart);
+                int limit = window.limit();
+                for (int i = start; i < limit; i++) {
+                    if (window.get(i) == '\n') {
+                        position = windowStart + i + 1;
+                        return decode(start, i);
+                    }
+                }
+
+                if (windowStart + limit >= size) {
+                    // last line without a trailing newline
+                    position = size;
+                    return decode(start, limit);
+                }
+
+                if (start == 0) {
+                    if (windowBytes == Integer.MAX_VALUE) {
+                        throw new IllegalStateException("Line longer than 2 GB at byte offset " + position);
+                    }
+                    windowBytes = (int) Math.min(Integer.MAX_VALUE, 2L * windowBytes);
+                }
+                map(position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void map(long from) throws IOException {
+        windowStart = from;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(windowBytes, size - from));
+    }
+
+    private String decode(int from, int to) {
+        int end = to;
+        if (end > from && window.get(end - 1) == '\r') {
+            end--;
+        }
+        byte[] bytes = new byte[end - from];
+        window.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
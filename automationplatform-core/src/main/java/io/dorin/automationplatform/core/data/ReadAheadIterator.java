@@ -0,0 +1,97 @@
+package io.dorin.automationplatform.core.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Iterator that drains a source iterator on a background thread into a bounded queue.
+ *
+ * <p>
+ * Used for {@link StreamingFileSource#parallel()}: reading, parsing and binding of upcoming
+ * rows overlap with the execution of the current test, while at most {@code capacity}
+ * rows are held in memory.
+ * </p>
+ */
+final class ReadAheadIterator<T> implements Iterator<T>, Closeable {
+
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final Thread producer;
+    private final Closeable source;
+
+    private Object next;
+    private volatile boolean closed;
+
+    ReadAheadIterator(Iterator<? extends T> upstream, Closeable source, int capacity, String name) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.source = source;
+        this.producer = new Thread(() -> produce(upstream), name);
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for data rows", e);
+            }
+        }
+        if (next instanceof Failure failure) {
+            throw failure.error;
+        }
+        return next != END;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T value = (T) next;
+        next = null;
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        producer.interrupt();
+        source.close();
+    }
+
+    private void produce(Iterator<? extends T> upstream) {
+        try {
+            while (!closed && upstream.hasNext()) {
+                queue.put(upstream.next());
+            }
+            queue.put(END);
+        } catch (InterruptedException e) {
+            // closed by the consumer
+        } catch (RuntimeException | Error e) {
+            if (closed) {
+                return;
+            }
+            RuntimeException error = e instanceof RuntimeException re
+                    ? re
+                    : new IllegalStateException("Reading data rows failed", e);
+            try {
+                queue.put(new Failure(error));
+            } catch (InterruptedException ignored) {
+                // closed by the consumer
+            }
+        }
+    }
+
+    private record Failure(RuntimeException error) {
+    }
+}
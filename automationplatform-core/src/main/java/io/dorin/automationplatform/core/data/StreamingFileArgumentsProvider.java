@@ -0,0 +1,251 @@
+package io.dorin.automationplatform.core.data;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.AnnotationBasedArgumentsProvider;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.support.ParameterDeclaration;
+import org.junit.jupiter.params.support.ParameterDeclarations;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link org.junit.jupiter.params.provider.ArgumentsProvider} behind {@link StreamingFileSource}.
+ *
+ * <p>
+ * Files are opened only when JUnit starts consuming the arguments stream, one file at a
+ * time, and closed as soon as they are exhausted (or when JUnit closes the stream).
+ * </p>
+ */
+public final class StreamingFileArgumentsProvider extends AnnotationBasedArgumentsProvider<StreamingFileSource> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    protected Stream<? extends Arguments> provideArguments(
+            ParameterDeclarations parameters,
+            ExtensionContext context,
+            StreamingFileSource source
+    ) {
+        if (source.resources().length == 0 && source.files().length == 0) {
+            throw new IllegalArgumentException("@StreamingFileSource requires at least one resource or file");
+        }
+
+        DataShard shard = DataShard.fromSystem();
+        Class<?> testClass = context.getRequiredTestClass();
+
+        Deque<Supplier<DataFileReader>> readers = new ArrayDeque<>();
+        for (String resource : source.resources()) {
+            readers.add(() -> openResource(testClass, resource, source, shard));
+        }
+        for (String file : source.files()) {
+            readers.add(() -> openFile(Paths.get(file), file, source, shard));
+        }
+
+        Function<DataRow, Arguments> binder = binder(parameters, source);
+        RowIterator rows = new RowIterator(readers);
+
+        Iterator<Bound> bound = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Bound next() {
+                DataRow row = rows.next();
+                return new Bound(row, binder.apply(row));
+            }
+        };
+
+        Iterator<Bound> iterator = bound;
+        Closeable closeable = rows;
+        if (source.parallel()) {
+            ReadAheadIterator<Bound> readAhead = new ReadAheadIterator<>(
+                    bound, rows, Math.max(1, source.readAhead()), "data-rows-" + context.getDisplayName());
+            iterator = readAhead;
+            closeable = readAhead;
+        }
+
+        // JUnit numbers invocations in stream order, starting at 1
+        Map<Long, DataRow> registry = DataRowFailureAttachments.registry(context);
+        AtomicLong invocation = new AtomicLong();
+        Closeable toClose = closeable;
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(b -> {
+                    registry.put(invocation.incrementAndGet(), b.row());
+                    return b.arguments();
+                })
+                .onClose(() -> {
+                    try {
+                        toClose.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    // ---------- internal helpers ----------
+
+    private static DataFileReader openResource(Class<?> testClass, String resource, StreamingFileSource source, DataShard shard) {
+        URL url = testClass.getResource(resource);
+        if (url == null) {
+            throw new IllegalArgumentException("Classpath resource not found: " + resource);
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return openFile(Paths.get(url.toURI()), resource, source, shard);
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid resource URL: " + url, e);
+            }
+        }
+        try {
+            return new DataFileReader(LineReader.open(url.openStream()), resource,
+                    source.format().resolve(resource), source.delimiter(), source.header(), shard);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open classpath resource: " + resource, e);
+        }
+    }
+
+    private static DataFileReader openFile(Path path, String name, StreamingFileSource source, DataShard shard) {
+        return new DataFileReader(LineReader.open(path), name,
+                source.format().resolve(name), source.delimiter(), source.header(), shard);
+    }
+
+    private static Function<DataRow, Arguments> binder(ParameterDeclarations parameters, StreamingFileSource source) {
+        Class<?> type = parameters.getFirst()
+                .map(ParameterDeclaration::getParameterType)
+                .orElse(Object.class);
+
+        if (DataRow.class.equals(type)) {
+            return Arguments::of;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return row -> Arguments.of(row.fields());
+        }
+        if (isBindable(type)) {
+            if (!source.header() && !type.isRecord() && readsCsv(source)) {
+                // without a header the fields are keyed "0", "1", ... and would match no property
+                throw new IllegalArgumentException("@StreamingFileSource(header = false) binds CSV columns by "
+                        + "record component order; " + type.getName() + " is not a record. Use a record, "
+                        + "a DataRow, a Map or one parameter per column");
+            }
+            boolean positional = type.isRecord() && !source.header();
+            return row -> Arguments.of(bind(row, type, positional));
+        }
+        return row -> Arguments.of(row.fields().values().toArray());
+    }
+
+    private static boolean readsCsv(StreamingFileSource source) {
+        return Stream.concat(Stream.of(source.resources()), Stream.of(source.files()))
+                .anyMatch(name -> source.format().resolve(name) == DataFormat.CSV);
+    }
+
+    private static boolean isBindable(Class<?> type) {
+        return !type.isPrimitive()
+                && !type.isEnum()
+                && !type.isArray()
+                && !type.isInterface()
+                && !type.getName().startsWith("java.");
+    }
+
+    private static Object bind(DataRow row, Class<?> type, boolean positional) {
+        Map<String, Object> fields = row.fields();
+        if (positional && row.format() == DataFormat.CSV) {
+            RecordComponent[] components = type.getRecordComponents();
+            Map<String, Object> named = new LinkedHashMap<>();
+            int i = 0;
+            for (Object value : fields.values()) {
+                if (i >= components.length) {
+                    break;
+                }
+                named.put(components[i++].getName(), value);
+            }
+            fields = named;
+        }
+        try {
+            return MAPPER.convertValue(fields, type);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Cannot bind row at " + row.position() + " to " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private record Bound(DataRow row, Arguments arguments) {
+    }
+
+    /**
+     * Concatenates the readers of all configured sources, opening each one lazily.
+     */
+    private static final class RowIterator implements Iterator<DataRow>, Closeable {
+
+        private final Deque<Supplier<DataFileReader>> pending;
+        private DataFileReader current;
+
+        RowIterator(Deque<Supplier<DataFileReader>> pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                closeCurrent();
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                current = pending.poll().get();
+            }
+            return true;
+        }
+
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void close() {
+            pending.clear();
+            closeCurrent();
+        }
+
+        private void closeCurrent() {
+            if (current == null) {
+                return;
+            }
+            try {
+                current.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                current = null;
+            }
+        }
+    }
+}
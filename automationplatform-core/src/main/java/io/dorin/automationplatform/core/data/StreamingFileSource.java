@@ -0,0 +1,75 @@
+package io.dorin.automationplatform.core.data;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * StreamingFileSource
+ *
+ * Purpose:
+ * -------
+ * {@code @ParameterizedTest} source for large CSV / JSONL datasets.
+ *
+ * Why this exists:
+ * ---------------
+ * - {@code @CsvFileSource} reads the whole file before the first test runs;
+ *   this source streams rows lazily, one at a time, as JUnit asks for them
+ * - Large files (8 MB and above) are memory-mapped instead of read through a buffer
+ * - Rows can be split across forks / CI nodes with {@link DataShard}
+ *   (-Ddata.shard.index / -Ddata.shard.total)
+ * - A row's raw text is attached to Allure only when that row's test fails
+ *
+ * Binding:
+ * -------
+ * - first parameter is a record / POJO: the row is bound to it by column (CSV header) or
+ *   property (JSONL) name; CSV files without header bind records by component order and
+ *   reject POJOs, which have no defined property order
+ * - first parameter is a {@link DataRow} or a {@link java.util.Map}: the row / its fields are passed
+ * - otherwise: column values are passed positionally, like {@code @CsvFileSource}
+ *
+ * Example:
+ * <pre>
+ * record User(String name, int age) {}
+ *
+ * &#64;ParameterizedTest
+ * &#64;StreamingFileSource(resources = "/data/users.csv")
+ * void user_can_register(User user) { ... }
+ * </pre>
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(StreamingFileArgumentsProvider.class)
+@ExtendWith(DataRowFailureAttachments.class)
+public @interface StreamingFileSource {
+
+    /** Classpath resources to read, in order. */
+    String[] resources() default {};
+
+    /** File system paths to read, in order (after {@link #resources()}). */
+    String[] files() default {};
+
+    /** File format; {@link DataFormat#AUTO} detects it from the extension. */
+    DataFormat format() default DataFormat.AUTO;
+
+    /** CSV column delimiter. */
+    char delimiter() default ',';
+
+    /** Whether the first CSV record is a header with column names. */
+    boolean header() default true;
+
+    /**
+     * Read, parse and bind upcoming rows on a background thread while the current
+     * row's test runs (bounded to {@link #readAhead()} rows).
+     */
+    boolean parallel() default false;
+
+    /** Maximum number of rows buffered ahead when {@link #parallel()} is enabled. */
+    int readAhead() default 256;
+}
@@ -0,0 +1,182 @@
+package io.dorin.automationplatform.core;
+
+import io.dorin.automationplatform.core.data.DataFormat;
+import io.dorin.automationplatform.core.data.DataRow;
+import io.dorin.automationplatform.core.data.StreamingFileSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+
+/**
+ * StreamingFileSourceTest
+ * <p>
+ * Purpose:
+ * -------
+ * Verifies that {@link StreamingFileSource}:
+ * - binds CSV rows (header, quoting, multi-line fields) and JSONL rows to records
+ * - passes {@link DataRow}s with source position and raw text
+ * - reads large files (memory-mapped path) and applies sharding by row index
+ * - binds headerless CSV rows to records by component order and rejects POJOs there
+ */
+class StreamingFileSourceTest {
+
+    record User(String name, int age, String note) {
+    }
+
+    /** POJO without a defined property order. */
+    public static class Account {
+        public String name;
+        public int age;
+    }
+
+    /** Fixture run by the test kit only (static nested classes are not picked up by Surefire). */
+    static class HeaderlessPojo {
+
+        @ParameterizedTest
+        @StreamingFileSource(resources = "/data/users-no-header.csv", header = false)
+        void row(Account account) {
+        }
+    }
+
+    record Order(long id, String status, List<String> items) {
+    }
+
+    private static final List<User> USERS = new CopyOnWriteArrayList<>();
+    private static final List<Order> ORDERS = new CopyOnWriteArrayList<>();
+    private static final List<DataRow> ROWS = new CopyOnWriteArrayList<>();
+    private static final List<User> HEADERLESS = new CopyOnWriteArrayList<>();
+
+    @ParameterizedTest
+    @StreamingFileSource(resources = "/data/users.csv")
+    void csv_rows_are_bound_to_records(User user) {
+        USERS.add(user);
+    }
+
+    @ParameterizedTest
+    @StreamingFileSource(resources = "/data/orders.jsonl", parallel = true, readAhead = 1)
+    void jsonl_rows_are_bound_to_records(Order order) {
+        ORDERS.add(order);
+    }
+
+    @ParameterizedTest
+    @StreamingFileSource(resources = "/data/users.csv")
+    void data_row_exposes_position_and_raw_text(DataRow row) {
+        ROWS.add(row);
+    }
+
+    @ParameterizedTest
+    @StreamingFileSource(resources = "/data/users.csv")
+    void simple_parameters_receive_columns_positionally(String name, int age, String note) {
+        assertTrue(age > 0, "age should be converted from the CSV column: " + name);
+    }
+
+    @ParameterizedTest
+    @StreamingFileSource(resources = "/data/users-no-header.csv", header = false)
+    void headerless_csv_rows_are_bound_to_records_by_component_order(User user) {
+        HEADERLESS.add(user);
+    }
+
+    @Test
+    void headerless_csv_rows_are_not_bound_to_pojos() {
+        EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(HeaderlessPojo.class))
+                .execute()
+                .containerEvents()
+                .assertThatEvents()
+                .haveExactly(1, finishedWithFailure(instanceOf(IllegalArgumentException.class),
+                        message(m -> m.contains("header = false") && m.contains(Account.class.getName()))));
+    }
+
+    @AfterAll
+    static void verify_rows_were_streamed() {
+        assertEquals(4, USERS.size());
+        assertEquals(new User("alice", 31, "plain"), USERS.get(0));
+        assertEquals(new User("bob", 42, "quoted, with comma"), USERS.get(1));
+        assertEquals(new User("carol", 27, "spans\ntwo lines"), USERS.get(2));
+        assertEquals("dan \"the man\"", USERS.get(3).name());
+        assertNull(USERS.get(3).note());
+
+        assertEquals(3, ORDERS.size());
+        assertEquals(new Order(1, "NEW", List.of("a", "b")), ORDERS.get(0));
+        assertEquals(new Order(3, "SHIPPED", List.of("c")), ORDERS.get(2));
+
+        assertEquals(List.of(new User("alice", 31, "plain"), new User("bob", 42, "quoted, with comma")), HEADERLESS);
+
+        assertEquals(4, ROWS.size());
+        DataRow carol = ROWS.get(2);
+        assertEquals(DataFormat.CSV, carol.format());
+        assertEquals(2, carol.index());
+        assertEquals(5, carol.line());
+        assertEquals("carol,27,\"spans\ntwo lines\"", carol.raw());
+        assertEquals(Map.of("name", "carol", "age", "27", "note", "spans\ntwo lines"), carol.fields());
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class LargeShardedFile {
+
+        private static final int ROW_COUNT = 200_000;
+        private static final int SHARD_TOTAL = 10_000;
+        private static final int SHARD_INDEX = 3;
+
+        private final Path file = Paths.get("target", "streaming-file-source-large.csv");
+        private final List<DataRow> seen = new CopyOnWriteArrayList<>();
+
+        @BeforeAll
+        void write_large_file_and_select_shard() throws IOException {
+            Files.createDirectories(file.getParent());
+            String padding = "x".repeat(40);
+            try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                w.write("id,payload\n");
+                for (int i = 0; i < ROW_COUNT; i++) {
+                    w.write(i + "," + padding + "\n");
+                }
+            }
+            assertTrue(Files.size(file) > 8L * 1024 * 1024, "file should take the memory-mapped path");
+
+            System.setProperty("data.shard.index", String.valueOf(SHARD_INDEX));
+            System.setProperty("data.shard.total", String.valueOf(SHARD_TOTAL));
+        }
+
+        @ParameterizedTest
+        @StreamingFileSource(files = "target/streaming-file-source-large.csv")
+        void only_rows_of_this_shard_are_provided(DataRow row) {
+            assertEquals(SHARD_INDEX, row.index() % SHARD_TOTAL);
+            assertEquals(String.valueOf(row.index()), row.fields().get("id"));
+            seen.add(row);
+        }
+
+        @AfterAll
+        void verify_shard_and_cleanup() throws IOException {
+            System.clearProperty("data.shard.index");
+            System.clearProperty("data.shard.total");
+            Files.deleteIfExists(file);
+
+            assertEquals(ROW_COUNT / SHARD_TOTAL, seen.size());
+            assertEquals(ROW_COUNT - SHARD_TOTAL + SHARD_INDEX, seen.get(seen.size() - 1).index());
+            assertEquals(ROW_COUNT - SHARD_TOTAL + SHARD_INDEX + 2, seen.get(seen.size() - 1).line());
+        }
+    }
+}
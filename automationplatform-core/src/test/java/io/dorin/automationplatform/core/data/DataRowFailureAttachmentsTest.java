@@ -0,0 +1,128 @@
+package io.dorin.automationplatform.core.data;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+/**
+ * DataRowFailureAttachmentsTest
+ * <p>
+ * Purpose:
+ * -------
+ * Runs a data-driven fixture through the JUnit engine and verifies that
+ * {@link DataRowFailureAttachments}:
+ * - attaches the raw row of the failing invocation only (matched by invocation index)
+ * - releases every row from the per-method registry once its invocation finished
+ * - also attaches and releases rows whose invocation fails before the test body ({@code @BeforeEach})
+ */
+class DataRowFailureAttachmentsTest {
+
+    private static final List<String> ATTACHMENTS = new CopyOnWriteArrayList<>();
+    private static final List<Integer> REGISTRY_SIZES = new CopyOnWriteArrayList<>();
+
+    @Test
+    void only_the_failing_row_is_attached_and_rows_are_released() {
+        run(FailsForBob.class, 3, 1);
+
+        assertEquals(List.of("Data row #1 (/data/users.csv:3) => bob, 42 ,\"quoted, with comma\""), ATTACHMENTS);
+        assertEquals(List.of(0, 0, 0, 0), REGISTRY_SIZES);
+    }
+
+    @Test
+    void rows_failing_in_before_each_are_attached_and_released() {
+        run(SetupFails.class, 0, 4);
+
+        assertEquals(List.of(
+                "Data row #0 (/data/users.csv:2) => alice,31,plain",
+                "Data row #1 (/data/users.csv:3) => bob, 42 ,\"quoted, with comma\"",
+                "Data row #2 (/data/users.csv:5) => carol,27,\"spans\ntwo lines\"",
+                "Data row #3 (/data/users.csv:7) => \"dan \"\"the man\"\"\",55,"
+        ), ATTACHMENTS);
+        assertEquals(List.of(0, 0, 0, 0), REGISTRY_SIZES);
+    }
+
+    // ---------- internal helpers ----------
+
+    private static void run(Class<?> fixture, int succeeded, int failed) {
+        ATTACHMENTS.clear();
+        REGISTRY_SIZES.clear();
+        AllureLifecycle previous = Allure.getLifecycle();
+        Allure.setLifecycle(new RecordingLifecycle());
+        try {
+            EngineTestKit.engine("junit-jupiter")
+                    .selectors(selectClass(fixture))
+                    .execute()
+                    .testEvents()
+                    .assertStatistics(stats -> stats.started(succeeded + failed).succeeded(succeeded).failed(failed));
+        } finally {
+            Allure.setLifecycle(previous);
+        }
+    }
+
+    /** Fixture run by the test kit only (static nested classes are not picked up by Surefire). */
+    @ExtendWith(RegistrySnapshot.class)
+    static class FailsForBob {
+
+        @ParameterizedTest
+        @StreamingFileSource(resources = "/data/users.csv")
+        void row(DataRow row) {
+            assertNotEquals("bob", row.fields().get("name"));
+        }
+    }
+
+    /** Fixture whose setup fails, so no invocation reaches the test body. */
+    @ExtendWith(RegistrySnapshot.class)
+    static class SetupFails {
+
+        @BeforeEach
+        void setUp() {
+            throw new IllegalStateException("setup failed");
+        }
+
+        @ParameterizedTest
+        @StreamingFileSource(resources = "/data/users.csv")
+        void row(DataRow row) {
+        }
+    }
+
+    /** Records the registry size after each invocation, i.e. after the extension released the row. */
+    static class RegistrySnapshot implements AfterEachCallback {
+
+        @Override
+        public void afterEach(ExtensionContext context) {
+            Map<Long, DataRow> registry = DataRowFailureAttachments.registry(context.getParent().orElseThrow());
+            REGISTRY_SIZES.add(registry.size());
+        }
+    }
+
+    /** Captures attachments instead of writing them to allure-results. */
+    private static final class RecordingLifecycle extends AllureLifecycle {
+
+        @Override
+        public void addAttachment(String name, String type, String fileExtension, InputStream stream) {
+            try {
+                ATTACHMENTS.add(name + " => " + new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
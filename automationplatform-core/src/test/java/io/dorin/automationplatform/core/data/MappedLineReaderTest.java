@@ -0,0 +1,112 @@
+package io.dorin.automationplatform.core.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * MappedLineReaderTest
+ * <p>
+ * Purpose:
+ * -------
+ * Exercises the window-boundary handling of {@link MappedLineReader} with tiny windows:
+ * - lines crossing a window boundary (remap from line start)
+ * - lines longer than the window (window doubling)
+ * - {@code \r\n} split across two windows
+ * - a final line without a trailing newline
+ * Results are compared with the buffered reader used for small files.
+ */
+class MappedLineReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void line_crossing_a_window_boundary_is_read_whole() throws IOException {
+        // window of 8 bytes ends inside "bravo-charlie"
+        Path file = write("alpha\nbravo-charlie\ndelta\n");
+
+        assertEquals(List.of("alpha", "bravo-charlie", "delta"), readAll(file, 8));
+    }
+
+    @Test
+    void line_longer_than_the_window_grows_the_window() throws IOException {
+        String longLine = "x".repeat(100);
+        Path file = write("a\n" + longLine + "\nb\n" + longLine + longLine + "\n");
+
+        assertEquals(List.of("a", longLine, "b", longLine + longLine), readAll(file, 4));
+    }
+
+    @Test
+    void crlf_split_across_windows_is_stripped() throws IOException {
+        // '\r' is the last byte of the first 16-byte window, '\n' the first byte of the next
+        Path file = write("0123456789abcde\r\nnext\r\n");
+
+        assertEquals(List.of("0123456789abcde", "next"), readAll(file, 16));
+    }
+
+    @Test
+    void final_line_without_newline_is_returned() throws IOException {
+        Path file = write("first\nsecond-line-at-end");
+
+        assertEquals(List.of("first", "second-line-at-end"), readAll(file, 8));
+        assertEquals(List.of("only"), readAll(write("only"), 2));
+        assertEquals(List.of(), readAll(write(""), 2));
+    }
+
+    @Test
+    void matches_buffered_reader_for_any_window_size() throws IOException {
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            int length = random.nextInt(40);
+            for (int c = 0; c < length; c++) {
+                content.append(random.nextInt(10) == 0 ? 'é' : (char) ('a' + random.nextInt(26)));
+            }
+            content.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        content.append("tail");
+        Path file = write(content.toString());
+
+        List<String> expected = new ArrayList<>();
+        try (LineReader reader = LineReader.open(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                expected.add(line);
+            }
+        }
+
+        for (int window : new int[]{1, 2, 3, 7, 16, 33, 64, 1024}) {
+            assertEquals(expected, readAll(file, window), "window of " + window + " bytes");
+        }
+    }
+
+    // ---------- internal helpers ----------
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(dir, "lines", ".txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<String> readAll(Path file, int windowBytes) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (MappedLineReader reader = new MappedLineReader(file, windowBytes)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+            assertNull(reader.readLine());
+        }
+        return lines;
+    }
+}